@@ -0,0 +1,156 @@
+import databases.Application;
+import databases.Database;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs the platform over many input files at once: every file gets its own database
+ * and session, and the files are spread over a bounded pool of threads. The wall
+ * time of every file is reported, followed by the overall throughput.
+ *
+ * Usage: java BatchRunner [input folder] [output folder] [threads]
+ * optionally followed by "--stream-input", "--stream-output" and/or
+ * "--journal=<directory>" (every file is journaled in a directory of its own,
+ * named after the file, within the given one)
+ */
+public final class BatchRunner {
+    private static final String DEFAULT_INPUT_FOLDER = "checker/resources/in/";
+    private static final String DEFAULT_OUTPUT_FOLDER = "out/";
+    private static final int NANOS_PER_MILLI = 1_000_000;
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final int OPTIONS_START = 3;
+    private static final String JOURNAL = "--journal=";
+    private static final String USAGE = "Usage: java BatchRunner [input folder]"
+            + " [output folder] [threads (at least 1)] [options]";
+
+    private BatchRunner() {
+    }
+
+    /**
+     * The result of running the platform over a single file
+     */
+    private record Result(String name, long nanos, int actions, String error) {
+    }
+
+    /**
+     * The method adapts the options passed to the platform to a single file: the files
+     * that run at once must not share a journal, so each of them gets its own
+     * @param options: the options passed to the runner
+     * @param inputFile: the file the options are adapted to
+     * @return options: the options of the file
+     */
+    private static List<String> optionsOf(final List<String> options, final File inputFile) {
+        List<String> fileOptions = new ArrayList<String>(options.size());
+
+        for (String option : options) {
+            if (option.startsWith(JOURNAL)) {
+                fileOptions.add(JOURNAL + Path.of(option.substring(JOURNAL.length()),
+                        inputFile.getName()));
+            } else {
+                fileOptions.add(option);
+            }
+        }
+
+        return fileOptions;
+    }
+
+    /**
+     * The method runs the platform over a single file, on an isolated database
+     * @param inputFile: the file that is processed
+     * @param outputFolder: the folder the output is written to (under the same name)
+     * @param options: the options passed to the platform
+     * @return result: the time it took and the number of executed actions
+     */
+    private static Result process(final File inputFile, final File outputFolder,
+                                  final List<String> options) {
+        // the session is initialized by the platform, once the database is built
+        Database database = Database.create();
+        Application application = Application.create();
+        long before = System.nanoTime();
+
+        try {
+            int actions = Main.run(inputFile, new File(outputFolder, inputFile.getName()),
+                    optionsOf(options, inputFile), database, application);
+            return new Result(inputFile.getName(), System.nanoTime() - before, actions, null);
+        } catch (IOException | RuntimeException e) {
+            return new Result(inputFile.getName(), System.nanoTime() - before, 0,
+                    e.toString());
+        }
+    }
+
+    /**
+     * The entry-point of the batch runner
+     * @param args: the folder of input files, the output folder and the number of
+     * threads (all optional), followed by the options passed to the platform
+     * @throws InterruptedException: if the runner is interrupted while waiting
+     * @throws ExecutionException: if a file could not be processed
+     */
+    public static void main(final String[] args)
+            throws InterruptedException, ExecutionException {
+        File inputFolder = new File(args.length > 0 ? args[0] : DEFAULT_INPUT_FOLDER);
+        File outputFolder = new File(args.length > 1 ? args[1] : DEFAULT_OUTPUT_FOLDER);
+        int threads = args.length > 2 ? Integer.parseInt(args[2])
+                : Runtime.getRuntime().availableProcessors();
+        if (threads <= 0) {
+            System.out.println(USAGE);
+            return;
+        }
+        List<String> options = args.length > OPTIONS_START
+                ? Arrays.asList(args).subList(OPTIONS_START, args.length) : List.of();
+
+        File[] inputFiles = inputFolder.listFiles((folder, name) -> name.endsWith(".json"));
+        if (inputFiles == null || inputFiles.length == 0) {
+            System.out.println("No input files found in " + inputFolder);
+            return;
+        }
+        Arrays.sort(inputFiles);
+
+        if (!outputFolder.isDirectory() && !outputFolder.mkdirs()) {
+            System.out.println("Could not create the output folder " + outputFolder);
+            return;
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, inputFiles.length));
+        List<Future<Result>> results = new ArrayList<Future<Result>>();
+        long before = System.nanoTime();
+        long totalActions = 0;
+        int failures = 0;
+
+        try {
+            for (File inputFile : inputFiles) {
+                results.add(pool.submit(() -> process(inputFile, outputFolder, options)));
+            }
+
+            for (Future<Result> future : results) {
+                Result result = future.get();
+                totalActions += result.actions();
+
+                if (result.error() != null) {
+                    failures++;
+                    System.out.printf("[%s]: failed after %d ms: %s%n", result.name(),
+                            result.nanos() / NANOS_PER_MILLI, result.error());
+                } else {
+                    System.out.printf("[%s]: %d actions in %.3f ms%n", result.name(),
+                            result.actions(), (double) result.nanos() / NANOS_PER_MILLI);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        double seconds = (System.nanoTime() - before) / NANOS_PER_SECOND;
+        System.out.printf("%d files (%d failed) on %d threads in %.3f s: "
+                        + "%.1f files/s, %.1f actions/s%n", inputFiles.length, failures,
+                Math.min(threads, inputFiles.length), seconds, inputFiles.length / seconds,
+                totalActions / seconds);
+    }
+}
@@ -1,93 +1,192 @@
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectWriter;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import databases.Application;
-import databases.Database;
-import entities.User;
-import input.ActionInput;
-import input.Input;
-import validators.VerifyRecommendations;
-import validators.VerifyUndo;
-
-import java.io.File;
-import java.io.IOException;
-
-public final class Main {
-    private Main() {
-    }
-
-    /**
-     * The entry-point of the program
-     *
-     * @param args: the path to the input JSON file and the one for the output
-     * @throws IOException: if the input path is incorrect
-     */
-    public static void main(final String[] args) throws IOException {
-
-        ObjectMapper objectMapper = new ObjectMapper();
-        ArrayNode output = objectMapper.createArrayNode();
-
-        // mapping the input JSON data
-        Input inputData = objectMapper.readValue(new File(args[0]), Input.class);
-
-        // creating the required database for the implemented platform
-        Database database = Database.getInstance();
-        database.clear();
-        database.construct(inputData);
-
-        // creating the page hierarchy (the platform)
-        Application application = Application.getInstance();
-        application.init(database);
-        // creating a "See Details Page" for all the movies that are found within the database
-        database.init(application);
-
-        int i;
-        for (i = 0; i < inputData.getActions().size(); i++) {
-            ActionInput action = inputData.getActions().get(i);
-
-            // if the platform does not have an active user who is
-            // navigating through the pages' hierarchy, a default one
-            // is created
-            if (!application.getHasLoggedInUser()) {
-                User defaultUser = new User();
-                // redirecting to the "Unauthenticated Page"
-                defaultUser.init(application);
-                application.setCurrentUser(defaultUser);
-            }
-
-            // the commands that can be applied to the database
-            if (action.getType().compareTo("database") == 0) {
-                if (action.getFeature().compareTo("add") == 0) {
-                    database.addMovie(action, output);
-                }
-
-                if (action.getFeature().compareTo("delete") == 0) {
-                    database.deleteMovie(action, output);
-                }
-            }
-
-            // the commands that manipulate the platform
-            if (action.getType().compareTo("back") == 0) {
-                VerifyUndo.backAction(application, output);
-            }
-
-            if (action.getType().compareTo("change page") == 0) {
-                application.getCurrentUser().getCurrentPage()
-                        .access(application.getCurrentUser(), action, output);
-            }
-
-            if (action.getType().compareTo("on page") == 0) {
-                application.getCurrentUser().getCurrentPage()
-                        .action(application.getCurrentUser(), action, output);
-            }
-        }
-
-        // if at the end of all the actions that took place there still is
-        // a currently logged-in "premium" user, he is given a movie recommendation
-        VerifyRecommendations.getRecommendation(application, database, output);
-
-        // printing the resulted output of the program to a new JSON file
-        ObjectWriter objectWriter = objectMapper.writerWithDefaultPrettyPrinter();
-        objectWriter.writeValue(new File(args[1]), output);
-    }
-}
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import databases.ActionJournal;
+import databases.Application;
+import databases.Database;
+import input.ActionInput;
+import input.Input;
+import input.InputReader;
+import output.JsonRenderer;
+import output.OutputWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+public final class Main {
+    // the option that makes the results be written to the output file as soon
+    // as they are produced, instead of being kept in memory until the end
+    private static final String STREAM_OUTPUT = "--stream-output";
+
+    // the option that makes the actions be read from the input file one at a time,
+    // as they are executed, instead of being loaded in memory at the beginning
+    private static final String STREAM_INPUT = "--stream-input";
+
+    // the option ("--journal=<directory>") that makes every action be journaled
+    // before it is applied, so that a run that stops unexpectedly can be resumed
+    // by running the program again with the same input and journal (the results
+    // are then always streamed, the ones given before the stop being kept)
+    private static final String JOURNAL = "--journal=";
+
+    private static final long NEVER = -1;
+
+    private Main() {
+    }
+
+    /**
+     * The entry-point of the program
+     *
+     * @param args: the path to the input JSON file and the one for the output,
+     * optionally followed by "--stream-input", "--stream-output" and/or
+     * "--journal=<directory>"
+     * @throws IOException: if the input path is incorrect
+     */
+    public static void main(final String[] args) throws IOException {
+        List<String> options = Arrays.asList(args).subList(2, args.length);
+
+        run(new File(args[0]), new File(args[1]), options,
+                Database.getInstance(), Application.getInstance());
+    }
+
+    /**
+     * The method runs the platform over an input file, making use of the given
+     * database and session (which are reset beforehand), so that several
+     * platforms may run at once if they do not share them
+     *
+     * @param inputFile: the JSON file that holds the users, the movies and the actions
+     * @param outputFile: the JSON file the results are written to
+     * @param options: "--stream-input", "--stream-output" and/or "--journal=<directory>"
+     * (may be empty); if the journal holds the state of a run that stopped
+     * unexpectedly, the platform resumes from that state and only the remaining
+     * actions of the input are executed, the output file ending up the same
+     * as if the run had not stopped
+     * @param database: the database the platform is built on
+     * @param application: the session the actions are executed in
+     * @return actions: the number of executed actions (the ones that had been applied
+     * before resuming from a journal are not counted)
+     * @throws IOException: if the input path is incorrect
+     */
+    public static int run(final File inputFile, final File outputFile, final List<String> options,
+                          final Database database, final Application application)
+            throws IOException {
+        return run(inputFile, outputFile, options, database, application,
+                ActionJournal.DEFAULT_CHECKPOINT_INTERVAL, NEVER);
+    }
+
+    /**
+     * The method runs the platform over an input file, like the one above, and may
+     * stop it in the middle of its work, as if it had crashed (nothing is closed,
+     * so that the journal is left as a crash would leave it)
+     *
+     * @param checkpointInterval: the number of actions between two checkpoints
+     * of the journal
+     * @param stopAfter: the number of actions the platform stops after (negative,
+     * if it runs to the end)
+     * @return actions: the number of executed actions
+     * @throws IOException: if the input path is incorrect
+     */
+    static int run(final File inputFile, final File outputFile, final List<String> options,
+                   final Database database, final Application application,
+                   final long checkpointInterval, final long stopAfter) throws IOException {
+
+        ObjectMapper objectMapper = JsonRenderer.getMapper();
+        ArrayNode output = objectMapper.createArrayNode();
+        OutputWriter outputWriter = null;
+        InputReader inputReader = null;
+        Input inputData;
+        Iterator<ActionInput> actions;
+        int executedActions = 0;
+
+        // mapping the input JSON data
+        if (options.contains(STREAM_INPUT)) {
+            inputReader = new InputReader(objectMapper, inputFile);
+            inputData = inputReader.getInput();
+            actions = inputReader;
+        } else {
+            inputData = objectMapper.readValue(inputFile, Input.class);
+            actions = inputData.getActions().iterator();
+        }
+
+        // creating the required database for the implemented platform
+        database.clear();
+        database.construct(inputData);
+
+        // creating the page hierarchy (the platform's session)
+        application.init(database);
+
+        ActionJournal journal = null;
+        for (String option : options) {
+            if (option.startsWith(JOURNAL)) {
+                journal = new ActionJournal(Path.of(option.substring(JOURNAL.length())),
+                        ActionJournal.DEFAULT_GROUP_SIZE, ActionJournal.DEFAULT_GROUP_MILLIS,
+                        checkpointInterval);
+            }
+        }
+
+        if (journal != null) {
+            // the actions that had been applied before the platform stopped are skipped
+            // (their results are already part of the output file)
+            long appliedActions = journal.recover(database, application, outputFile);
+            outputWriter = journal.getOutput();
+            while (appliedActions > 0 && actions.hasNext()) {
+                actions.next();
+                appliedActions--;
+            }
+        } else if (options.contains(STREAM_OUTPUT)) {
+            outputWriter = new OutputWriter(outputFile);
+        }
+
+        while (actions.hasNext()) {
+            if (executedActions == stopAfter) {
+                return executedActions;
+            }
+            ActionInput action = actions.next();
+
+            if (journal != null) {
+                journal.append(action);
+            }
+            application.execute(action, output);
+            executedActions++;
+
+            if (outputWriter != null) {
+                outputWriter.write(output);
+            }
+
+            // a checkpoint covers the results that have been written so far
+            if (journal != null && journal.isCheckpointDue()) {
+                journal.checkpoint(database, application);
+            }
+        }
+
+        if (inputReader != null) {
+            inputReader.close();
+        }
+
+        // if at the end of all the actions that took place there still is
+        // a currently logged-in "premium" user, he is given a movie recommendation
+        application.recommend(output);
+
+        if (outputWriter != null) {
+            outputWriter.write(output);
+            outputWriter.close();
+        }
+
+        // the output file is complete, so there is nothing left to recover
+        if (journal != null) {
+            journal.delete();
+        }
+        if (outputWriter != null) {
+            return executedActions;
+        }
+
+        // printing the resulted output of the program to a new JSON file
+        ObjectWriter objectWriter = objectMapper.writerWithDefaultPrettyPrinter();
+        objectWriter.writeValue(outputFile, output);
+
+        return executedActions;
+    }
+}
@@ -0,0 +1,141 @@
+import databases.Application;
+import databases.Database;
+import input.Input;
+import output.JsonRenderer;
+import pages.PageCreator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Checks that a journaled run can be resumed after it stops unexpectedly: for every input
+ * file, the platform is stopped after each of its actions in turn (nothing being closed,
+ * as if it had crashed), then run again over the same journal, and the output file
+ * it ends up with is compared with the one of a run that was never stopped.
+ *
+ * Every stop is checked with a checkpoint taken after every action (so that the platform
+ * also resumes from checkpoints of the "Login" and "Register" pages, where the session
+ * has no registered user yet) and with checkpoints taken rarely (so that the actions
+ * logged after the last checkpoint are replayed).
+ *
+ * Usage: java RecoveryCheck [input folder]
+ */
+public final class RecoveryCheck {
+    private static final String DEFAULT_INPUT_FOLDER = "checker/resources/in/";
+    private static final long[] CHECKPOINT_INTERVALS = {1, 4};
+    private static final String JOURNAL = "--journal=";
+
+    private RecoveryCheck() {
+    }
+
+    /**
+     * The result of stopping a run: whether it was resumed to the expected output
+     * and the page it had stopped on (null, if it had not executed any action)
+     */
+    private record Stop(boolean resumed, PageCreator.PageType pageType) {
+    }
+
+    /**
+     * The method stops a journaled run after a given number of actions, resumes it
+     * and compares its output with the expected one
+     * @param inputFile: the file that is processed
+     * @param expected: the output of the run that was never stopped
+     * @param checkpointInterval: the number of actions between two checkpoints
+     * @param stopAfter: the number of actions the first run stops after
+     * @return stop: whether the resumed run ended up with the expected output and
+     * the page the first run stopped on
+     * @throws IOException: if the files cannot be read or written
+     */
+    private static Stop check(final File inputFile, final Path expected,
+                              final long checkpointInterval, final long stopAfter)
+            throws IOException {
+        Path directory = Files.createTempDirectory("recovery");
+        Path outputFile = Files.createTempFile("recovery", ".json");
+        List<String> options = List.of(JOURNAL + directory);
+        Database stopped = Database.create();
+        Application stoppedSession = Application.create();
+
+        try {
+            Main.run(inputFile, outputFile.toFile(), options, stopped, stoppedSession,
+                    checkpointInterval, stopAfter);
+
+            Database resumed = Database.create();
+            Main.run(inputFile, outputFile.toFile(), options, resumed,
+                    Application.create(), checkpointInterval, -1);
+
+            return new Stop(Files.mismatch(expected, outputFile) < 0,
+                    stoppedSession.getCurrentPageType());
+        } catch (RuntimeException e) {
+            return new Stop(false, stoppedSession.getCurrentPageType());
+        } finally {
+            // a resumed run that failed leaves its journal behind
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+            Files.delete(outputFile);
+        }
+    }
+
+    /**
+     * The entry-point of the check
+     * @param args: the folder of input files (optional)
+     * @throws IOException: if the files cannot be read or written
+     */
+    public static void main(final String[] args) throws IOException {
+        File inputFolder = new File(args.length > 0 ? args[0] : DEFAULT_INPUT_FOLDER);
+        File[] inputFiles = inputFolder.listFiles((folder, name) -> name.endsWith(".json"));
+        if (inputFiles == null || inputFiles.length == 0) {
+            System.out.println("No input files found in " + inputFolder);
+            return;
+        }
+        Arrays.sort(inputFiles);
+
+        int failures = 0;
+        for (File inputFile : inputFiles) {
+            int actions = JsonRenderer.getMapper().readValue(inputFile, Input.class)
+                    .getActions().size();
+            Path expected = Files.createTempFile("expected", ".json");
+            Database database = Database.create();
+            Main.run(inputFile, expected.toFile(), List.of(), database,
+                    Application.create());
+
+            int stops = 0;
+            int loginStops = 0;
+            for (long checkpointInterval : CHECKPOINT_INTERVALS) {
+                for (int stopAfter = 0; stopAfter < actions; stopAfter++) {
+                    Stop stop = check(inputFile, expected, checkpointInterval, stopAfter);
+                    stops++;
+
+                    if (!stop.resumed()) {
+                        failures++;
+                        System.out.printf("[%s]: could not resume after %d actions"
+                                + " (checkpoints every %d actions, stopped on %s)%n",
+                                inputFile.getName(), stopAfter, checkpointInterval,
+                                stop.pageType());
+                    }
+                    if (stop.pageType() == PageCreator.PageType.Login
+                            || stop.pageType() == PageCreator.PageType.Register) {
+                        loginStops++;
+                    }
+                }
+            }
+            Files.delete(expected);
+
+            System.out.printf("[%s]: %d stops (%d on the \"Login\" or \"Register\" page)%n",
+                    inputFile.getName(), stops, loginStops);
+        }
+
+        System.out.printf("%d failed stops%n", failures);
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package benchmarks;
+
+import entities.Rating;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the cost of updating the statistics of a single popular movie from
+ * several threads at once, comparing the counters a movie may use: a plain field
+ * guarded by a monitor, an atomic integer and an adder (for likes and views), and
+ * a monitor-guarded triple versus an atomically replaced immutable state
+ * (for ratings). Every variant is also checked for lost updates.
+ *
+ * This is the contention the platform produces: the sessions of different users
+ * like, watch and rate movies under the database's read lock (each of them only
+ * locking its own user), so a popular movie's counters are updated by all of them
+ * at once.
+ *
+ * Usage: java benchmarks.CounterBenchmark [max threads] [updates per thread]
+ */
+public final class CounterBenchmark {
+    private static final int DEFAULT_MAX_THREADS = 8;
+    private static final int DEFAULT_UPDATES = 2_000_000;
+    private static final int MAX_RATE = 5;
+    private static final int ROUNDS = 3;
+
+    private CounterBenchmark() {
+    }
+
+    /**
+     * The counters guarded by the movie's monitor (the former approach, once
+     * the updates are made safe)
+     */
+    private static final class MonitorCounters {
+        private int likes;
+        private int totalRatings;
+        private int allRatings;
+        private int noRatings;
+
+        synchronized void addLike() {
+            this.likes += 1;
+        }
+
+        synchronized void addRating(final int givenRating) {
+            this.totalRatings += givenRating;
+            this.allRatings += 1;
+            this.noRatings += 1;
+        }
+
+        synchronized int getLikes() {
+            return this.likes;
+        }
+
+        synchronized int getAllRatings() {
+            return this.allRatings;
+        }
+    }
+
+    /**
+     * The method runs the same update from several threads that start at once
+     * @param threads: the number of threads
+     * @param updates: the number of updates made by every thread
+     * @param update: the update that is measured
+     * @return time: the average time of an update, in nanoseconds
+     * @throws InterruptedException: if the measurement is interrupted
+     */
+    private static double measure(final int threads, final int updates,
+                                  final Runnable update) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        int i;
+
+        for (i = 0; i < threads; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int j = 0; j < updates; j++) {
+                    update.run();
+                }
+                done.countDown();
+            });
+            thread.start();
+        }
+
+        long before = System.nanoTime();
+        start.countDown();
+        done.await();
+        long after = System.nanoTime();
+
+        return (double) (after - before) / ((long) threads * updates);
+    }
+
+    private static void report(final String name, final double time, final long expected,
+                               final long counted) {
+        String check = expected == counted ? "" : " (lost " + (expected - counted) + " updates)";
+        System.out.printf("  %-28s %8.2f ns/update%s%n", name, time, check);
+    }
+
+    /**
+     * The entry-point of the benchmark
+     * @param args: the maximum number of threads and the number of updates
+     * made by every thread (both optional)
+     * @throws InterruptedException: if the measurement is interrupted
+     */
+    public static void main(final String[] args) throws InterruptedException {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_MAX_THREADS;
+        int updates = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_UPDATES;
+        int threads;
+        int round;
+
+        for (threads = 1; threads <= maxThreads; threads *= 2) {
+            long expected = (long) threads * updates;
+
+            // the last round is reported, the previous ones warm the code paths up
+            for (round = 0; round < ROUNDS; round++) {
+                MonitorCounters monitor = new MonitorCounters();
+                AtomicInteger atomic = new AtomicInteger();
+                LongAdder adder = new LongAdder();
+                AtomicReference<Rating> ratings = new AtomicReference<Rating>(Rating.NONE);
+
+                double monitorLikes = measure(threads, updates, monitor::addLike);
+                double atomicLikes = measure(threads, updates, atomic::incrementAndGet);
+                double adderLikes = measure(threads, updates, adder::increment);
+                double monitorRatings = measure(threads, updates,
+                        () -> monitor.addRating(MAX_RATE));
+                double snapshotRatings = measure(threads, updates,
+                        () -> ratings.updateAndGet(current -> current.add(MAX_RATE, false)));
+
+                if (round == ROUNDS - 1) {
+                    System.out.println("threads: " + threads);
+                    report("likes (monitor)", monitorLikes, expected, monitor.getLikes());
+                    report("likes (atomic integer)", atomicLikes, expected, atomic.get());
+                    report("likes (adder)", adderLikes, expected, adder.sum());
+                    report("ratings (monitor)", monitorRatings, expected,
+                            monitor.getAllRatings());
+                    report("ratings (immutable state)", snapshotRatings, expected,
+                            ratings.get().getAllRatings());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package benchmarks;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import databases.ActionJournal;
+import databases.Application;
+import databases.Database;
+import input.ActionInput;
+import input.Input;
+import output.JsonRenderer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Measures the cost of journaling the actions: the actions of an input file are applied
+ * without a journal and then with journals that force their records to the disk in
+ * groups of several sizes (a group of one forcing every single action); the throughput
+ * is reported in actions per second.
+ *
+ * Every journaled run is then treated as a platform that stopped without closing its
+ * journal: a new platform recovers from it and the time spent on loading the last
+ * checkpoint and replaying the actions logged after it is reported as well.
+ *
+ * Usage: java benchmarks.JournalBenchmark [input file] [group sizes] [checkpoint interval]
+ * (the input file may be generated by WorkloadGenerator; the group sizes are
+ * a comma-separated list, e.g. "1,64")
+ */
+public final class JournalBenchmark {
+    private static final String DEFAULT_INPUT = "workload.json";
+    private static final String DEFAULT_GROUP_SIZES = "1,8,64,512";
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private JournalBenchmark() {
+    }
+
+    /**
+     * The method applies all the actions of the input to a new platform
+     * @param input: the users, the movies and the actions
+     * @param journal: the journal the actions are written to (null, if there is none)
+     * @return time: the time spent on applying the actions, in nanoseconds
+     */
+    private static long run(final Input input, final ActionJournal journal) throws IOException {
+        Database database = Database.create();
+        database.construct(input);
+        Application application = Application.createSession(database);
+        ArrayNode output = JsonRenderer.getMapper().createArrayNode();
+
+        // the journal starts with a checkpoint of the initial state
+        if (journal != null) {
+            journal.recover(database, application, null);
+        }
+        long start = System.nanoTime();
+        for (ActionInput action : input.getActions()) {
+            if (journal != null) {
+                journal.append(action);
+            }
+            application.execute(action, output);
+            output.removeAll();
+
+            if (journal != null && journal.isCheckpointDue()) {
+                journal.checkpoint(database, application);
+            }
+        }
+        if (journal != null) {
+            journal.sync();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static void report(final String name, final int actions, final long time) {
+        System.out.printf("%-24s %14.0f %12.1f%n", name, actions * NANOS_PER_SECOND / time,
+                time / NANOS_PER_MILLI);
+    }
+
+    /**
+     * The entry-point of the benchmark
+     * @param args: the input file, the group sizes and the number of actions between
+     * two checkpoints (all optional)
+     * @throws IOException: if the input cannot be read or the journal cannot be written
+     */
+    public static void main(final String[] args) throws IOException {
+        File inputFile = new File(args.length > 0 ? args[0] : DEFAULT_INPUT);
+        String[] groupSizes = (args.length > 1 ? args[1] : DEFAULT_GROUP_SIZES).split(",");
+        long checkpointInterval = args.length > 2 ? Long.parseLong(args[2])
+                : ActionJournal.DEFAULT_CHECKPOINT_INTERVAL;
+
+        Input input = JsonRenderer.getMapper().readValue(inputFile, Input.class);
+        int actions = input.getActions().size();
+
+        // the first run only warms the platform up
+        run(input, null);
+        System.out.printf("%-24s %14s %12s%n", "case", "actions/s", "time (ms)");
+        report("no journal", actions, run(input, null));
+
+        for (String groupSize : groupSizes) {
+            Path directory = Files.createTempDirectory("journal");
+            ActionJournal journal = new ActionJournal(directory,
+                    Integer.parseInt(groupSize.trim()), ActionJournal.DEFAULT_GROUP_MILLIS,
+                    checkpointInterval);
+            report("journal (groups of " + groupSize.trim() + ")", actions,
+                    run(input, journal));
+
+            // the journal is left open, as if the platform had stopped unexpectedly
+            ActionJournal recovered = new ActionJournal(directory,
+                    Integer.parseInt(groupSize.trim()), ActionJournal.DEFAULT_GROUP_MILLIS,
+                    checkpointInterval);
+            Database database = Database.create();
+            long start = System.nanoTime();
+            long replayed = recovered.recover(database, Application.createSession(database),
+                    null);
+            System.out.printf("%-24s %14s %12.1f (%d actions applied)%n", "  recovery", "",
+                    (System.nanoTime() - start) / NANOS_PER_MILLI, replayed);
+
+            journal.delete();
+            recovered.delete();
+            Files.delete(directory);
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package benchmarks;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import databases.Application;
+import databases.Database;
+import entities.Movie;
+import entities.Notification;
+import entities.User;
+import input.ActionInput;
+import input.CredentialsInput;
+import input.FilterInput;
+import input.Input;
+import input.MovieInput;
+import input.SortInput;
+import input.UserInput;
+import output.JsonRenderer;
+import validators.VerifyMovies;
+import validators.VerifyRecommendations;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * Measures the platform's hot paths over synthetic databases of several sizes:
+ * listing the "Movies Page", searching, sorting with every comparator (and taking
+ * only the first page of a sort), adding and deleting a movie (along with notifying
+ * its genres' subscribers and refunding its holders), looking users up at login and
+ * giving a recommendation, and then giving one to every "premium" user, both sequentially
+ * and in parallel (the parallel pass is checked against the sequential one first).
+ *
+ * Every case is warmed up and then repeated for a fixed amount of time; the average
+ * time of an operation is reported for every combination of catalog and user-base size.
+ *
+ * Usage: java benchmarks.PlatformBenchmark [movie counts] [user counts] [millis per case]
+ * (the counts are comma-separated lists, e.g. "1000,10000")
+ */
+public final class PlatformBenchmark {
+    private static final String DEFAULT_MOVIE_COUNTS = "1000,10000";
+    private static final String DEFAULT_USER_COUNTS = "100,10000";
+    private static final int DEFAULT_MILLIS = 500;
+    private static final int NANOS_PER_MILLI = 1_000_000;
+    private static final long SEED = 42;
+
+    private static final List<String> GENRES = List.of("Action", "Comedy", "Drama", "Horror",
+            "Romance", "Thriller", "Animation", "Documentary");
+    private static final List<String> COUNTRIES = List.of("Romania", "Germany", "France",
+            "Spain", "Italy");
+    private static final int ACTORS = 500;
+    private static final int GENRES_PER_MOVIE = 2;
+    private static final int ACTORS_PER_MOVIE = 3;
+    private static final int MIN_YEAR = 1950;
+    private static final int YEARS = 70;
+    private static final int MIN_DURATION = 60;
+    private static final int DURATIONS = 120;
+    private static final int BALANCE = 1000;
+    private static final int LIKES_PER_USER = 5;
+    private static final int MAX_RATE = 5;
+    private static final int PREMIUM_RATIO = 2;
+    private static final int PAGE_SIZE = 10;
+
+    // the results of the measured operations are gathered here, so that
+    // the operations cannot be optimized away
+    private static int sink;
+
+    private PlatformBenchmark() {
+    }
+
+    private static ArrayList<String> pick(final Random random, final List<String> values,
+                                          final int count) {
+        ArrayList<String> picked = new ArrayList<String>();
+        while (picked.size() < count) {
+            String value = values.get(random.nextInt(values.size()));
+            if (!picked.contains(value)) {
+                picked.add(value);
+            }
+        }
+        return picked;
+    }
+
+    private static MovieInput createMovie(final Random random, final String name) {
+        MovieInput movieInput = new MovieInput();
+        ArrayList<String> actors = new ArrayList<String>();
+        int i;
+        for (i = 0; i < ACTORS_PER_MOVIE; i++) {
+            actors.add("actor " + random.nextInt(ACTORS));
+        }
+
+        movieInput.setName(name);
+        movieInput.setYear(MIN_YEAR + random.nextInt(YEARS));
+        movieInput.setDuration(MIN_DURATION + random.nextInt(DURATIONS));
+        movieInput.setGenres(pick(random, GENRES, GENRES_PER_MOVIE));
+        movieInput.setActors(actors);
+        movieInput.setCountriesBanned(pick(random, COUNTRIES, 1));
+        return movieInput;
+    }
+
+    private static CredentialsInput createCredentials(final int index) {
+        CredentialsInput credentials = new CredentialsInput();
+        credentials.setName("user " + index);
+        credentials.setPassword("password " + index);
+        credentials.setAccountType(index % PREMIUM_RATIO == 0 ? "premium" : "standard");
+        credentials.setCountry(COUNTRIES.get(index % COUNTRIES.size()));
+        credentials.setBalance(BALANCE);
+        return credentials;
+    }
+
+    /**
+     * The method builds a database with the given number of movies and users;
+     * every user likes (and rates) a few movies and subscribes to a genre
+     */
+    static Database createDatabase(final Random random, final int movieCount,
+                                           final int userCount) {
+        Input input = new Input();
+        input.setMovies(new ArrayList<MovieInput>());
+        input.setUsers(new ArrayList<UserInput>());
+        input.setActions(new ArrayList<ActionInput>());
+        int i;
+
+        for (i = 0; i < movieCount; i++) {
+            input.getMovies().add(createMovie(random, "movie " + i));
+        }
+        for (i = 0; i < userCount; i++) {
+            UserInput userInput = new UserInput();
+            userInput.setCredentials(createCredentials(i));
+            input.getUsers().add(userInput);
+        }
+
+        Database database = Database.create();
+        database.construct(input);
+
+        for (User user : database.getUsers()) {
+            for (i = 0; i < LIKES_PER_USER; i++) {
+                Movie movie = database.getMovies().get(random.nextInt(movieCount));
+                user.addPurchasedMovie(movie);
+                user.addWatchedMovie(movie);
+                if (!user.getLikedMovies().contains(movie)) {
+                    database.likeMovie(user, movie);
+                }
+                user.addRatedMovie(movie);
+                database.rateMovie(movie, 1 + random.nextInt(MAX_RATE), false);
+            }
+            database.subscribe(user, GENRES.get(random.nextInt(GENRES.size())));
+        }
+
+        return database;
+    }
+
+    private static ActionInput createFilter(final String rating, final String duration) {
+        ActionInput action = new ActionInput();
+        SortInput sortInput = new SortInput();
+        FilterInput filterInput = new FilterInput();
+
+        sortInput.setRating(rating);
+        sortInput.setDuration(duration);
+        filterInput.setSort(sortInput);
+        action.setType("on page");
+        action.setFeature("filter");
+        action.setFilters(filterInput);
+        return action;
+    }
+
+    /**
+     * The method repeats an operation for a given amount of time, after
+     * warming it up for the same amount of time
+     * @return time: the average time of an operation, in nanoseconds
+     */
+    private static double measure(final Supplier<Object> operation, final long millis) {
+        long budget = millis * NANOS_PER_MILLI;
+        long start = System.nanoTime();
+        while (System.nanoTime() - start < budget) {
+            sink += System.identityHashCode(operation.get());
+        }
+
+        long operations = 0;
+        start = System.nanoTime();
+        long elapsed;
+        do {
+            sink += System.identityHashCode(operation.get());
+            operations++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < budget);
+
+        return (double) elapsed / operations;
+    }
+
+    /**
+     * The method computes the recommendation of every "premium" user, one after
+     * the other, on the database itself
+     * @return recommendations: the notification computed for every "premium" user
+     */
+    private static ArrayList<Notification> recommendAll(final Database database) {
+        ArrayList<Notification> recommendations = new ArrayList<Notification>();
+        for (User user : database.getUsers()) {
+            if (user.getAccountType().compareTo("premium") == 0) {
+                recommendations.add(VerifyRecommendations.findRecommendation(database, user));
+            }
+        }
+        return recommendations;
+    }
+
+    /**
+     * The method checks that the parallel pass gives every "premium" user the same
+     * recommendation as the sequential one
+     */
+    private static void checkRecommendations(final Database database, final ForkJoinPool pool) {
+        LinkedHashMap<User, Notification> recommendations =
+                VerifyRecommendations.getRecommendations(database, pool);
+
+        for (Map.Entry<User, Notification> entry : recommendations.entrySet()) {
+            Notification expected = VerifyRecommendations.findRecommendation(database,
+                    entry.getKey());
+            if (!expected.getMovieName().equals(entry.getValue().getMovieName())) {
+                throw new IllegalStateException("The parallel recommendation of "
+                        + entry.getKey().getName() + " differs from the sequential one");
+            }
+        }
+    }
+
+    private static void report(final String name, final int movies, final int users,
+                               final double time) {
+        System.out.printf("%-32s %8d %8d %16.1f%n", name, movies, users, time);
+    }
+
+    /**
+     * The method runs all the cases over a database of the given size
+     */
+    private static void run(final int movieCount, final int userCount, final long millis) {
+        Random random = new Random(SEED);
+        Database database = createDatabase(random, movieCount, userCount);
+        Application application = Application.createSession(database);
+        ArrayNode output = JsonRenderer.getMapper().createArrayNode();
+
+        // a logged-in "premium" user, browsing the "Movies Page"
+        User user = database.getUsers().get(0);
+        application.setCurrentUser(user);
+        application.setCurrentPage(application.getMovies());
+        application.userIsLoggedIn();
+
+        report("movies page", movieCount, userCount, measure(() -> {
+            output.removeAll();
+            return VerifyMovies.showOutput(application, database);
+        }, millis));
+
+        ActionInput search = new ActionInput();
+        search.setType("on page");
+        search.setFeature("search");
+        search.setStartsWith("movie 1");
+        report("search", movieCount, userCount, measure(() -> {
+            output.removeAll();
+            return VerifyMovies.moviesAction(database, application, search, output);
+        }, millis));
+
+        ActionInput[] sorts = {createFilter(null, "decreasing"),
+            createFilter("increasing", null), createFilter("decreasing", "increasing")};
+        String[] sortNames = {"sort (DurationComparator)", "sort (RatingComparator)",
+            "sort (FiltersComparator)"};
+        int i;
+        for (i = 0; i < sorts.length; i++) {
+            ActionInput sort = sorts[i];
+            report(sortNames[i], movieCount, userCount, measure(() -> {
+                // the cached result is dropped, so that every filter is sorted again
+                database.getFilterCache().clear();
+                output.removeAll();
+                return VerifyMovies.moviesAction(database, application, sort, output);
+            }, millis));
+        }
+
+        SortInput firstPage = sorts[sorts.length - 1].getFilters().getSort();
+        BitSet visible = database.getVisibleMovies(user.getCountry());
+        report("sort (first " + PAGE_SIZE + " movies)", movieCount, userCount, measure(() ->
+                database.getSortedMovies(firstPage, visible, PAGE_SIZE), millis));
+
+        CredentialsInput[] credentials = new CredentialsInput[userCount];
+        for (i = 0; i < userCount; i++) {
+            credentials[i] = createCredentials(random.nextInt(userCount));
+        }
+        int[] next = {0};
+        report("login lookup", movieCount, userCount, measure(() -> {
+            next[0] = (next[0] + 1) % userCount;
+            return database.findUser(credentials[next[0]]);
+        }, millis));
+
+        report("recommendation", movieCount, userCount, measure(() -> {
+            output.removeAll();
+            user.getNotifications().clear();
+            VerifyRecommendations.getRecommendation(application, database, output);
+            return output;
+        }, millis));
+
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            checkRecommendations(database, pool);
+            report("recommendations (sequential)", movieCount, userCount, measure(() ->
+                    recommendAll(database), millis));
+            report("recommendations (parallel)", movieCount, userCount, measure(() ->
+                    VerifyRecommendations.getRecommendations(database, pool), millis));
+        } finally {
+            pool.shutdown();
+        }
+
+        // the added movie is deleted right away, so that the catalog keeps its size;
+        // it is bought by a user in between, so that the deletion refunds him
+        ActionInput add = new ActionInput();
+        add.setType("database");
+        add.setFeature("add");
+        add.setAddedMovie(createMovie(random, "added movie"));
+        ActionInput delete = new ActionInput();
+        delete.setType("database");
+        delete.setFeature("delete");
+        delete.setDeletedMovie("added movie");
+        report("add + delete movie", movieCount, userCount, measure(() -> {
+            output.removeAll();
+            database.addMovie(add, output);
+            user.addPurchasedMovie(database.findMovie("added movie"));
+            database.deleteMovie(delete, output);
+            return output;
+        }, millis));
+        for (User subscriber : database.getUsers()) {
+            subscriber.getNotifications().clear();
+        }
+    }
+
+    /**
+     * The entry-point of the benchmark
+     * @param args: the catalog sizes, the user-base sizes and the time spent
+     * on every case (all optional)
+     */
+    public static void main(final String[] args) {
+        String[] movieCounts = (args.length > 0 ? args[0] : DEFAULT_MOVIE_COUNTS).split(",");
+        String[] userCounts = (args.length > 1 ? args[1] : DEFAULT_USER_COUNTS).split(",");
+        long millis = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_MILLIS;
+
+        System.out.printf("%-32s %8s %8s %16s%n", "case", "movies", "users", "ns/operation");
+        for (String movieCount : movieCounts) {
+            for (String userCount : userCounts) {
+                run(Integer.parseInt(movieCount.trim()), Integer.parseInt(userCount.trim()),
+                        millis);
+            }
+        }
+        System.out.println("(checksum " + sink + ")");
+    }
+}
@@ -0,0 +1,161 @@
+package benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import entities.Movie;
+import entities.User;
+import input.CredentialsInput;
+import input.MovieInput;
+import output.JsonRenderer;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the heap allocated for rendering the output of a single "movies"
+ * action, comparing the shared renderer (which also reuses the cached rendering
+ * of unchanged movies) with the former approach of building a new ObjectMapper
+ * for every rendered node.
+ *
+ * Usage: java benchmarks.RenderingBenchmark [movies] [iterations]
+ */
+public final class RenderingBenchmark {
+    private static final int DEFAULT_MOVIES = 100;
+    private static final int DEFAULT_ITERATIONS = 2000;
+    private static final int USER_LIST_SIZE = 10;
+    private static final int YEAR = 2000;
+    private static final int DURATION = 90;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private RenderingBenchmark() {
+    }
+
+    private static ArrayList<Movie> createMovies(final int count) {
+        ArrayList<Movie> movies = new ArrayList<Movie>();
+        int i;
+        for (i = 0; i < count; i++) {
+            MovieInput movieInput = new MovieInput();
+            movieInput.setName("movie " + i);
+            movieInput.setYear(YEAR);
+            movieInput.setDuration(DURATION);
+            movieInput.setGenres(new ArrayList<String>(List.of("Drama", "Comedy")));
+            movieInput.setActors(new ArrayList<String>(List.of("actor " + i, "actor " + (i + 1))));
+            movieInput.setCountriesBanned(new ArrayList<String>(List.of("Romania")));
+            Movie movie = new Movie(movieInput);
+            movie.setId(i);
+            movies.add(movie);
+        }
+        return movies;
+    }
+
+    private static User createUser(final List<Movie> movies) {
+        CredentialsInput credentials = new CredentialsInput();
+        credentials.setName("user");
+        credentials.setPassword("password");
+        credentials.setAccountType("premium");
+        credentials.setCountry("Germany");
+
+        User user = new User(credentials);
+        for (Movie movie : movies.subList(0, Math.min(USER_LIST_SIZE, movies.size()))) {
+            user.addPurchasedMovie(movie);
+            user.addWatchedMovie(movie);
+            user.addLikedMovie(movie);
+            user.addRatedMovie(movie);
+        }
+        return user;
+    }
+
+    private static ObjectNode legacyMovie(final Movie movie) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode movieOutput = objectMapper.createObjectNode();
+
+        movieOutput.put("name", movie.getName());
+        movieOutput.put("year", String.valueOf(movie.getYear()));
+        movieOutput.put("duration", movie.getDuration());
+        ArrayNode genresOutput = objectMapper.createArrayNode();
+        movie.getGenres().forEach(genresOutput::add);
+        movieOutput.set("genres", genresOutput);
+        ArrayNode actorsOutput = objectMapper.createArrayNode();
+        movie.getActors().forEach(actorsOutput::add);
+        movieOutput.set("actors", actorsOutput);
+        ArrayNode countriesOutput = objectMapper.createArrayNode();
+        movie.getBannedCountries().forEach(countriesOutput::add);
+        movieOutput.set("countriesBanned", countriesOutput);
+        movieOutput.put("numLikes", movie.getTotalLikes());
+        movieOutput.put("rating", movie.getRating());
+        movieOutput.put("numRatings", movie.getNoRatings());
+
+        return movieOutput;
+    }
+
+    private static ArrayNode legacyMovies(final Iterable<Movie> movies) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ArrayNode moviesOutput = objectMapper.createArrayNode();
+        for (Movie movie : movies) {
+            moviesOutput.add(legacyMovie(movie));
+        }
+        return moviesOutput;
+    }
+
+    private static ObjectNode legacyResult(final List<Movie> movies, final User user) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode result = objectMapper.createObjectNode();
+        result.set("error", null);
+        result.set("currentMoviesList", legacyMovies(movies));
+
+        ObjectNode userOutput = new ObjectMapper().createObjectNode();
+        ObjectNode credentialsOutput = new ObjectMapper().createObjectNode();
+        credentialsOutput.put("name", user.getName());
+        userOutput.set("credentials", credentialsOutput);
+        userOutput.set("purchasedMovies", legacyMovies(user.getPurchasedMovies()));
+        userOutput.set("watchedMovies", legacyMovies(user.getWatchedMovies()));
+        userOutput.set("likedMovies", legacyMovies(user.getLikedMovies()));
+        userOutput.set("ratedMovies", legacyMovies(user.getRatedMovies()));
+        userOutput.set("notifications", new ObjectMapper().createArrayNode());
+        result.set("currentUser", userOutput);
+
+        return result;
+    }
+
+    private static long measure(final Runnable action, final int iterations) {
+        long threadId = Thread.currentThread().getId();
+        int i;
+
+        // warming up the code paths before the measurement
+        for (i = 0; i < iterations; i++) {
+            action.run();
+        }
+
+        long before = THREADS.getThreadAllocatedBytes(threadId);
+        for (i = 0; i < iterations; i++) {
+            action.run();
+        }
+        long after = THREADS.getThreadAllocatedBytes(threadId);
+
+        return (after - before) / iterations;
+    }
+
+    /**
+     * The entry-point of the benchmark
+     * @param args: the number of movies shown on the screen and the number
+     * of measured iterations (both optional)
+     */
+    public static void main(final String[] args) {
+        int movieCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_MOVIES;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ITERATIONS;
+
+        ArrayList<Movie> movies = createMovies(movieCount);
+        User user = createUser(movies);
+
+        long legacy = measure(() -> legacyResult(movies, user), iterations);
+        long shared = measure(() -> JsonRenderer.showResult(movies, user), iterations);
+
+        System.out.println("movies on screen: " + movieCount);
+        System.out.println("bytes allocated per action (mapper per node): " + legacy);
+        System.out.println("bytes allocated per action (shared renderer): " + shared);
+    }
+}
@@ -0,0 +1,217 @@
+package benchmarks;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import databases.Application;
+import databases.Database;
+import entities.Movie;
+import input.ActionInput;
+import input.CredentialsInput;
+import input.FilterInput;
+import input.SortInput;
+import output.JsonRenderer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Measures the throughput of several sessions that run at once over the same database,
+ * each on its own thread and logged in as its own user: every session repeatedly filters
+ * the "Movies Page" by rating, opens one of a few popular movies and purchases, watches,
+ * likes and rates it, so that the sessions read the same orderings and update the same
+ * movies' statistics.
+ *
+ * Every thread count is measured twice: with the platform's own locking (the sessions of
+ * different users run their actions at once) and with every action holding the database's
+ * write lock (the sessions run one at a time, as they did when every change of a user
+ * locked the whole database). The views of the popular movies are also checked for lost
+ * updates. The sessions can only scale with the number of available processors.
+ *
+ * Usage: java benchmarks.SessionBenchmark [max threads] [cycles per thread]
+ */
+public final class SessionBenchmark {
+    private static final int DEFAULT_MAX_THREADS = 8;
+    private static final int DEFAULT_CYCLES = 2_000;
+    private static final int MOVIES = 300;
+    private static final int USERS = 1_000;
+    private static final int POPULAR_MOVIES = 4;
+    private static final int MAX_RATE = 5;
+    private static final int ROUNDS = 3;
+    private static final long SEED = 42;
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    // the users whose index is a multiple of this step are "premium" users from
+    // the same country (see PlatformBenchmark.createCredentials())
+    private static final int USER_STEP = 10;
+    private static final String COUNTRY = "Romania";
+
+    private SessionBenchmark() {
+    }
+
+    private static ActionInput changePage(final String page, final String movie) {
+        ActionInput action = new ActionInput();
+        action.setType("change page");
+        action.setPage(page);
+        action.setMovie(movie);
+        return action;
+    }
+
+    private static ActionInput onPage(final String feature) {
+        ActionInput action = new ActionInput();
+        action.setType("on page");
+        action.setFeature(feature);
+        return action;
+    }
+
+    private static ActionInput login(final int index) {
+        CredentialsInput credentials = new CredentialsInput();
+        credentials.setName("user " + index);
+        credentials.setPassword("password " + index);
+
+        ActionInput action = onPage("login");
+        action.setCredentials(credentials);
+        return action;
+    }
+
+    /**
+     * The method creates the actions of one cycle of a session, on a given movie
+     * @param movie: the title of the movie the cycle acts upon
+     * @param rate: the rating the movie is given
+     * @return actions: the actions of the cycle
+     */
+    private static List<ActionInput> createCycle(final String movie, final int rate) {
+        SortInput sortInput = new SortInput();
+        sortInput.setRating("decreasing");
+        FilterInput filterInput = new FilterInput();
+        filterInput.setSort(sortInput);
+        ActionInput filter = onPage("filter");
+        filter.setFilters(filterInput);
+        ActionInput rating = onPage("rate");
+        rating.setRate(rate);
+
+        return List.of(changePage("movies", null), filter, changePage("see details", movie),
+                onPage("purchase"), onPage("watch"), onPage("like"), rating);
+    }
+
+    private static long countViews(final List<Movie> movies) {
+        long views = 0;
+        for (Movie movie : movies) {
+            views += movie.getTotalViews();
+        }
+        return views;
+    }
+
+    /**
+     * The method runs the sessions over a new database and measures their throughput
+     * @param threads: the number of sessions (and threads)
+     * @param cycles: the number of cycles run by every session
+     * @param serialized: "true" if every action holds the database's write lock
+     * @return throughput: the number of actions executed per second
+     * @throws InterruptedException: if the measurement is interrupted
+     */
+    private static double measure(final int threads, final int cycles, final boolean serialized)
+            throws InterruptedException {
+        Database database = PlatformBenchmark.createDatabase(new Random(SEED), MOVIES, USERS);
+        ArrayList<Movie> popular = new ArrayList<Movie>();
+        for (Movie movie : database.getMovies()) {
+            if (popular.size() < POPULAR_MOVIES && !movie.getBannedCountries().contains(COUNTRY)) {
+                popular.add(movie);
+            }
+        }
+
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        Lock exclusive = database.getLock().writeLock();
+        long viewsBefore = countViews(popular);
+        int actionsPerCycle = 0;
+        int i;
+
+        for (i = 0; i < threads; i++) {
+            Application session = Application.createSession(database);
+            ArrayNode output = JsonRenderer.getMapper().createArrayNode();
+            ArrayList<List<ActionInput>> sessionCycles = new ArrayList<List<ActionInput>>();
+            int movie;
+            for (movie = 0; movie < popular.size(); movie++) {
+                sessionCycles.add(createCycle(popular.get(movie).getName(),
+                        1 + (i + movie) % MAX_RATE));
+            }
+            actionsPerCycle = sessionCycles.get(0).size();
+
+            session.execute(changePage("login", null), output);
+            session.execute(login(i * USER_STEP), output);
+
+            Thread thread = new Thread(() -> {
+                ready.countDown();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int cycle = 0; cycle < cycles; cycle++) {
+                    for (ActionInput action : sessionCycles.get(cycle % sessionCycles.size())) {
+                        if (serialized) {
+                            exclusive.lock();
+                        }
+                        try {
+                            session.execute(action, output);
+                        } finally {
+                            if (serialized) {
+                                exclusive.unlock();
+                            }
+                        }
+                    }
+                    output.removeAll();
+                }
+                done.countDown();
+            });
+            thread.start();
+        }
+
+        ready.await();
+        long before = System.nanoTime();
+        start.countDown();
+        done.await();
+        long after = System.nanoTime();
+
+        long lostViews = (long) threads * cycles - (countViews(popular) - viewsBefore);
+        if (lostViews != 0) {
+            throw new IllegalStateException(lostViews + " views of the popular movies were lost");
+        }
+
+        double seconds = (after - before) / NANOS_PER_SECOND;
+        return (double) threads * cycles * actionsPerCycle / seconds;
+    }
+
+    /**
+     * The entry-point of the benchmark
+     * @param args: the maximum number of threads and the number of cycles run
+     * by every session (both optional)
+     * @throws InterruptedException: if the measurement is interrupted
+     */
+    public static void main(final String[] args) throws InterruptedException {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_MAX_THREADS;
+        int cycles = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CYCLES;
+        int threads;
+        int round;
+
+        System.out.printf("available processors: %d%n",
+                Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-8s %22s %22s%n", "threads", "actions/s (sessions)",
+                "actions/s (one by one)");
+        for (threads = 1; threads <= maxThreads; threads *= 2) {
+            double concurrent = 0;
+            double serialized = 0;
+
+            // the last round is reported, the previous ones warm the code paths up
+            for (round = 0; round < ROUNDS; round++) {
+                concurrent = measure(threads, cycles, false);
+                serialized = measure(threads, cycles, true);
+            }
+            System.out.printf("%-8d %22.0f %22.0f%n", threads, concurrent, serialized);
+        }
+    }
+}
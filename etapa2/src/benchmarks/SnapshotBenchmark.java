@@ -0,0 +1,82 @@
+package benchmarks;
+
+import databases.Database;
+import databases.Snapshot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Measures saving a synthetic database to a binary snapshot and restoring it (the warm
+ * restart of the platform), over a catalog and a user base of the given sizes.
+ *
+ * The original database is saved once and then dropped, so that only one platform is
+ * held in memory at a time; every round loads the snapshot and saves the restored
+ * database again, to a second file that is compared to the first one, so that
+ * a restore that loses any part of the state is reported as a failure.
+ *
+ * Usage: java benchmarks.SnapshotBenchmark [movie count] [user count] [rounds]
+ */
+public final class SnapshotBenchmark {
+    private static final int DEFAULT_MOVIE_COUNT = 1_000_000;
+    private static final int DEFAULT_USER_COUNT = 1_000_000;
+    private static final int DEFAULT_ROUNDS = 5;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double BYTES_PER_MEGABYTE = 1 << 20;
+    private static final long SEED = 42;
+
+    private SnapshotBenchmark() {
+    }
+
+    /**
+     * The entry-point of the benchmark
+     * @param args: the size of the catalog, the size of the user base and the number
+     * of rounds (all optional)
+     * @throws IOException: if the snapshots cannot be written to the temporary directory
+     */
+    public static void main(final String[] args) throws IOException {
+        int movieCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_MOVIE_COUNT;
+        int userCount = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_USER_COUNT;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_ROUNDS;
+
+        Path original = Files.createTempFile("platform", ".snapshot");
+        Path copy = Files.createTempFile("platform", ".snapshot");
+        try {
+            long start = System.nanoTime();
+            Database database = PlatformBenchmark.createDatabase(new Random(SEED),
+                    movieCount, userCount);
+            long built = System.nanoTime();
+            Snapshot.write(database, original);
+            long written = System.nanoTime();
+            System.out.printf("built %d movies and %d users in %.1f ms, saved them in %.1f ms"
+                    + " (%.1f MB)%n", movieCount, userCount, (built - start) / NANOS_PER_MILLI,
+                    (written - built) / NANOS_PER_MILLI, Files.size(original) / BYTES_PER_MEGABYTE);
+            database.clear();
+
+            Database restored = Database.create();
+            System.out.printf("%-8s %12s %12s%n", "round", "load (ms)", "write (ms)");
+            int round;
+            for (round = 1; round <= rounds; round++) {
+                start = System.nanoTime();
+                Snapshot.load(restored, original);
+                long loaded = System.nanoTime();
+                Snapshot.write(restored, copy);
+                written = System.nanoTime();
+
+                System.out.printf("%-8d %12.1f %12.1f%n", round,
+                        (loaded - start) / NANOS_PER_MILLI,
+                        (written - loaded) / NANOS_PER_MILLI);
+                if (Files.mismatch(original, copy) != -1) {
+                    System.out.println("FAILED: the restored database differs from the original");
+                    return;
+                }
+            }
+            System.out.println("the restored database matches the original");
+        } finally {
+            Files.delete(original);
+            Files.delete(copy);
+        }
+    }
+}
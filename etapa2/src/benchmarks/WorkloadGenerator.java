@@ -0,0 +1,694 @@
+package benchmarks;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import output.JsonRenderer;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates input files for the platform: a catalog of movies, a user base and a mix
+ * of actions that follows the way users browse the platform (logging in or registering,
+ * navigating to the movies, searching, filtering, opening movies and purchasing,
+ * watching, liking and rating them, subscribing, upgrading, going back, logging out),
+ * interleaved with movies being added to and deleted from the database.
+ *
+ * The generator keeps track of what the platform will do with the actions (the page
+ * every session is on, the movies a user can see in his country, the tokens he can
+ * spend), so that most of the actions succeed, like they would for real users; some
+ * of them still fail on purpose (wrong passwords, missing movies, going back).
+ *
+ * The output only depends on the given sizes and seed, and it is written as it is
+ * generated, so that inputs with millions of entries do not have to fit in memory.
+ *
+ * Usage: java benchmarks.WorkloadGenerator [output file] [movies] [users] [actions] [seed]
+ */
+public final class WorkloadGenerator {
+    private static final String DEFAULT_OUTPUT = "workload.json";
+    private static final int DEFAULT_MOVIES = 1000;
+    private static final int DEFAULT_USERS = 100;
+    private static final int DEFAULT_ACTIONS = 10000;
+    private static final long DEFAULT_SEED = 1;
+    private static final int ARG_MOVIES = 1;
+    private static final int ARG_USERS = 2;
+    private static final int ARG_ACTIONS = 3;
+    private static final int ARG_SEED = 4;
+
+    private static final List<String> GENRES = List.of("Action", "Adventure", "Animation",
+            "Comedy", "Crime", "Documentary", "Drama", "Fantasy", "Horror", "Mystery",
+            "Romance", "Thriller", "Western");
+    private static final List<String> COUNTRIES = List.of("Romania", "Germany", "France",
+            "Spain", "Italy", "India", "Ireland", "Russia", "Ukraine", "Japan");
+    private static final List<String> WORDS = List.of("The", "Last", "Dark", "Silent",
+            "Lost", "Red", "Night", "River", "City", "Dream", "Star", "Winter", "Broken",
+            "Golden", "Wild", "Secret");
+    private static final List<String> ORDERS = List.of("increasing", "decreasing");
+
+    private static final int MIN_ACTORS = 100;
+    private static final int MAX_GENRES = 3;
+    private static final int MAX_ACTORS = 4;
+    private static final int MAX_BANNED = 2;
+    private static final int MIN_YEAR = 1950;
+    private static final int YEARS = 75;
+    private static final int MIN_DURATION = 70;
+    private static final int DURATIONS = 110;
+    private static final int MAX_BALANCE = 500;
+    private static final int MIN_TOKENS = 10;
+    private static final int TOKENS = 90;
+    private static final int MAX_RATE = 5;
+    private static final int PERCENT = 100;
+    private static final int PREMIUM_PERCENT = 30;
+    private static final int WRONG_PASSWORD_PERCENT = 10;
+    private static final int REGISTER_PERCENT = 15;
+    private static final int MISSING_DELETE_PERCENT = 10;
+    private static final int PREMIUM_UPGRADE_PERCENT = 20;
+    private static final int PURCHASE_PERCENT = 80;
+    private static final int WATCH_PERCENT = 85;
+    private static final int LIKE_PERCENT = 45;
+    private static final int RATE_PERCENT = 60;
+    private static final int VISIBLE_ATTEMPTS = 8;
+    private static final int INITIAL_FREE_MOVIES = 15;
+    private static final int MOVIE_PRICE = 2;
+    private static final int PREMIUM_PRICE = 10;
+    private static final int BANNED_SHIFT = 16;
+    private static final int GROWTH = 2;
+    // the focus of a list of movies that holds no known movie
+    private static final String FILTERED = "";
+
+    // the weights of the actions a logged-in user takes, in the order of Step's values
+    private static final int[] WEIGHTS = {10, 8, 12, 30, 4, 5, 8, 3, 2, 5};
+
+    private enum Step {
+        MOVIES, SEARCH, FILTER, DETAILS, SUBSCRIBE, UPGRADES, BACK, ADD, DELETE, LOGOUT
+    }
+
+    private enum Page {
+        UNAUTHENTICATED, HOMEPAGE, MOVIES, SEE_DETAILS, UPGRADES, UNKNOWN
+    }
+
+    private final JsonGenerator generator;
+    private final Random random;
+    private final int actorCount;
+    private final int initialUsers;
+
+    // the titles of the movies the catalog currently holds, along with their genres
+    // and banned countries (as bit masks); the positions of the titles are kept so
+    // that a deleted title can be swapped out in constant time
+    private final ArrayList<String> titles;
+    private final HashMap<String, Integer> positions;
+    private int[] traits;
+    private int addedMovies;
+
+    // the state of every user: his country, account type and resources
+    private int userCount;
+    private int[] countries;
+    private boolean[] premium;
+    private int[] balances;
+    private int[] tokens;
+    private int[] freeMovies;
+
+    // the state of the simulated session
+    private Page page;
+    private int currentUser;
+    private int currentTraits;
+    // the title of a movie the "Movies Page" is known to show (null, if it shows
+    // every movie the user can see)
+    private String focus;
+    private int remainingActions;
+
+    private WorkloadGenerator(final JsonGenerator generator, final long seed,
+                              final int movieCount, final int userCount) {
+        this.generator = generator;
+        this.random = new Random(seed);
+        this.actorCount = Math.max(MIN_ACTORS, movieCount / 2);
+        this.initialUsers = userCount;
+        this.titles = new ArrayList<String>(movieCount);
+        this.positions = new HashMap<String, Integer>();
+        this.traits = new int[Math.max(1, movieCount)];
+        int capacity = Math.max(1, userCount);
+        this.countries = new int[capacity];
+        this.premium = new boolean[capacity];
+        this.balances = new int[capacity];
+        this.tokens = new int[capacity];
+        this.freeMovies = new int[capacity];
+        this.page = Page.UNAUTHENTICATED;
+        this.currentUser = -1;
+    }
+
+    private String pick(final List<String> values) {
+        return values.get(this.random.nextInt(values.size()));
+    }
+
+    private boolean chance(final int percent) {
+        return this.random.nextInt(PERCENT) < percent;
+    }
+
+    private String createTitle(final int index) {
+        return pick(WORDS) + " " + pick(WORDS) + " " + index;
+    }
+
+    private void addTitle(final String title, final int movieTraits) {
+        if (this.titles.size() == this.traits.length) {
+            this.traits = Arrays.copyOf(this.traits, this.traits.length * GROWTH);
+        }
+        this.traits[this.titles.size()] = movieTraits;
+        this.positions.put(title, this.titles.size());
+        this.titles.add(title);
+    }
+
+    private void removeTitle(final String title) {
+        int position = this.positions.remove(title);
+        int lastPosition = this.titles.size() - 1;
+        String last = this.titles.remove(lastPosition);
+
+        if (position < lastPosition) {
+            this.titles.set(position, last);
+            this.traits[position] = this.traits[lastPosition];
+            this.positions.put(last, position);
+        }
+    }
+
+    /**
+     * The method writes a few distinct values, picked from the given ones
+     * @return mask: the positions of the written values, as a bit mask
+     */
+    private int writeStrings(final String field, final List<String> values, final int count)
+            throws IOException {
+        this.generator.writeArrayFieldStart(field);
+        int mask = 0;
+        int written = 0;
+        while (written < count) {
+            int value = this.random.nextInt(values.size());
+            if ((mask & (1 << value)) == 0) {
+                mask |= 1 << value;
+                written++;
+                this.generator.writeString(values.get(value));
+            }
+        }
+        this.generator.writeEndArray();
+        return mask;
+    }
+
+    /**
+     * The method writes the details of a movie
+     * @return traits: the genres (low bits) and banned countries (high bits) of the movie
+     */
+    private int writeMovie(final String title) throws IOException {
+        this.generator.writeStartObject();
+        this.generator.writeStringField("name", title);
+        this.generator.writeNumberField("year", MIN_YEAR + this.random.nextInt(YEARS));
+        this.generator.writeNumberField("duration",
+                MIN_DURATION + this.random.nextInt(DURATIONS));
+        int genres = writeStrings("genres", GENRES, 1 + this.random.nextInt(MAX_GENRES));
+        this.generator.writeArrayFieldStart("actors");
+        int actors = 1 + this.random.nextInt(MAX_ACTORS);
+        int i;
+        for (i = 0; i < actors; i++) {
+            this.generator.writeString("Actor " + this.random.nextInt(this.actorCount));
+        }
+        this.generator.writeEndArray();
+        int banned = writeStrings("countriesBanned", COUNTRIES,
+                this.random.nextInt(MAX_BANNED + 1));
+        this.generator.writeEndObject();
+
+        return genres | banned << BANNED_SHIFT;
+    }
+
+    /**
+     * The method writes the complete credentials of a new user and records his state
+     * @param user: the index of the user
+     */
+    private void writeUser(final int user) throws IOException {
+        if (user == this.countries.length) {
+            int capacity = this.countries.length * GROWTH;
+            this.countries = Arrays.copyOf(this.countries, capacity);
+            this.premium = Arrays.copyOf(this.premium, capacity);
+            this.balances = Arrays.copyOf(this.balances, capacity);
+            this.tokens = Arrays.copyOf(this.tokens, capacity);
+            this.freeMovies = Arrays.copyOf(this.freeMovies, capacity);
+        }
+        this.countries[user] = this.random.nextInt(COUNTRIES.size());
+        this.premium[user] = chance(PREMIUM_PERCENT);
+        this.balances[user] = this.random.nextInt(MAX_BALANCE + 1);
+        this.freeMovies[user] = INITIAL_FREE_MOVIES;
+        this.userCount = Math.max(this.userCount, user + 1);
+
+        this.generator.writeObjectFieldStart("credentials");
+        this.generator.writeStringField("name", "user " + user);
+        this.generator.writeStringField("password", "password " + user);
+        this.generator.writeStringField("accountType",
+                this.premium[user] ? "premium" : "standard");
+        this.generator.writeStringField("country", COUNTRIES.get(this.countries[user]));
+        this.generator.writeStringField("balance", String.valueOf(this.balances[user]));
+        this.generator.writeEndObject();
+    }
+
+    private void startAction(final String type) throws IOException {
+        this.generator.writeStartObject();
+        this.generator.writeStringField("type", type);
+        this.remainingActions--;
+    }
+
+    private void changePage(final String target, final Page next) throws IOException {
+        startAction("change page");
+        this.generator.writeStringField("page", target);
+        this.generator.writeEndObject();
+        this.page = next;
+    }
+
+    private void onPage(final String feature) throws IOException {
+        startAction("on page");
+        this.generator.writeStringField("feature", feature);
+        this.generator.writeEndObject();
+    }
+
+    /**
+     * The method makes sure the session is on the "Movies Page"; the page can only be
+     * reached from the homepage, the details of a movie and the upgrades
+     */
+    private void toMovies() throws IOException {
+        if (this.page != Page.MOVIES) {
+            changePage("movies", Page.MOVIES);
+            this.focus = null;
+        }
+    }
+
+    /**
+     * The method makes the user log in (sometimes with a wrong password) or register
+     */
+    private void authenticate() throws IOException {
+        if (chance(REGISTER_PERCENT)) {
+            changePage("register", Page.UNKNOWN);
+            startAction("on page");
+            this.generator.writeStringField("feature", "register");
+            this.currentUser = this.userCount;
+            writeUser(this.currentUser);
+            this.generator.writeEndObject();
+            this.page = Page.HOMEPAGE;
+            return;
+        }
+
+        int user = this.random.nextInt(this.userCount);
+        boolean wrongPassword = chance(WRONG_PASSWORD_PERCENT);
+        changePage("login", Page.UNKNOWN);
+        startAction("on page");
+        this.generator.writeStringField("feature", "login");
+        this.generator.writeObjectFieldStart("credentials");
+        this.generator.writeStringField("name", "user " + user);
+        this.generator.writeStringField("password", wrongPassword ? "wrong" : "password " + user);
+        this.generator.writeEndObject();
+        this.generator.writeEndObject();
+        this.page = wrongPassword ? Page.UNAUTHENTICATED : Page.HOMEPAGE;
+        this.currentUser = wrongPassword ? -1 : user;
+    }
+
+    /**
+     * The method picks a movie that can be watched in the current user's country
+     * @return position: the position of the movie or -1, if none was found
+     */
+    private int pickVisible() {
+        if (this.titles.isEmpty()) {
+            return -1;
+        }
+
+        int country = 1 << this.countries[this.currentUser] << BANNED_SHIFT;
+        int attempt;
+        for (attempt = 0; attempt < VISIBLE_ATTEMPTS; attempt++) {
+            int position = this.random.nextInt(this.titles.size());
+            if ((this.traits[position] & country) == 0) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The method makes the user search for a movie he can see, by the first words
+     * of its title, so that the movie is among the results
+     */
+    private void search() throws IOException {
+        int position = pickVisible();
+        if (position < 0) {
+            return;
+        }
+
+        toMovies();
+        String title = this.titles.get(position);
+        int end = title.indexOf(' ');
+        if (chance(PERCENT / 2)) {
+            end = title.indexOf(' ', end + 1);
+        }
+
+        startAction("on page");
+        this.generator.writeStringField("feature", "search");
+        this.generator.writeStringField("startsWith", title.substring(0, end));
+        this.generator.writeEndObject();
+        this.focus = title;
+    }
+
+    /**
+     * The method makes the user filter the movies he can see, either by one of the
+     * genres of a chosen movie (which is then among the results) or by an actor
+     */
+    private void filter() throws IOException {
+        int position = pickVisible();
+        if (position < 0) {
+            return;
+        }
+
+        toMovies();
+        startAction("on page");
+        this.generator.writeStringField("feature", "filter");
+        this.generator.writeObjectFieldStart("filters");
+
+        boolean rating = chance(PERCENT / 2);
+        boolean duration = chance(PERCENT / 2);
+        if (rating || duration) {
+            this.generator.writeObjectFieldStart("sort");
+            if (rating) {
+                this.generator.writeStringField("rating", pick(ORDERS));
+            }
+            if (duration) {
+                this.generator.writeStringField("duration", pick(ORDERS));
+            }
+            this.generator.writeEndObject();
+        }
+
+        this.focus = this.titles.get(position);
+        if (chance(PERCENT / 2)) {
+            this.generator.writeObjectFieldStart("contains");
+            if (chance(PERCENT / 2)) {
+                this.generator.writeArrayFieldStart("genre");
+                this.generator.writeString(GENRES.get(pickGenre(this.traits[position])));
+                this.generator.writeEndArray();
+            } else {
+                this.generator.writeArrayFieldStart("actors");
+                this.generator.writeString("Actor " + this.random.nextInt(this.actorCount));
+                this.generator.writeEndArray();
+                // the chosen movie might not star the actor
+                this.focus = FILTERED;
+            }
+            this.generator.writeEndObject();
+        }
+
+        this.generator.writeEndObject();
+        this.generator.writeEndObject();
+    }
+
+    /**
+     * The method picks one of the genres of a movie
+     * @param movieTraits: the genres (low bits) and banned countries of the movie
+     * @return genre: the position of the genre
+     */
+    private int pickGenre(final int movieTraits) {
+        int genres = movieTraits & ((1 << BANNED_SHIFT) - 1);
+        int genre = this.random.nextInt(GENRES.size());
+        while ((genres & (1 << genre)) == 0) {
+            genre = (genre + 1) % GENRES.size();
+        }
+        return genre;
+    }
+
+    /**
+     * The method opens the details of a movie shown on the "Movies Page" (the one the
+     * user searched for, or any movie he can see, if the list holds all of them)
+     * @return opened: "true" if the movie is opened, "false" if there is none to open
+     */
+    private boolean openDetails() throws IOException {
+        int position;
+        if (this.page == Page.MOVIES && this.focus != null) {
+            if (!this.positions.containsKey(this.focus)) {
+                // the list does not hold a known movie, so the user leaves it
+                logout();
+                return false;
+            }
+            position = this.positions.get(this.focus);
+        } else {
+            position = pickVisible();
+            if (position < 0) {
+                return false;
+            }
+            toMovies();
+        }
+
+        startAction("change page");
+        this.generator.writeStringField("page", "see details");
+        this.generator.writeStringField("movie", this.titles.get(position));
+        this.generator.writeEndObject();
+        this.page = Page.SEE_DETAILS;
+        this.currentTraits = this.traits[position];
+        return true;
+    }
+
+    /**
+     * The method checks if the current user can afford a movie, paying for it if so
+     * @return paid: "true" if the user could purchase the movie, "false" otherwise
+     */
+    private boolean pay() {
+        int user = this.currentUser;
+        if (this.premium[user] && this.freeMovies[user] > 0) {
+            this.freeMovies[user]--;
+            return true;
+        }
+        if (this.tokens[user] >= MOVIE_PRICE) {
+            this.tokens[user] -= MOVIE_PRICE;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * The method opens a movie and goes through (a prefix of) the purchase, watch,
+     * like and rate sequence
+     */
+    private void details() throws IOException {
+        if (!openDetails() || this.remainingActions <= 0 || !chance(PURCHASE_PERCENT)) {
+            return;
+        }
+        if (!pay()) {
+            // the user buys tokens instead, and comes back to the movie later
+            upgrades();
+            return;
+        }
+        onPage("purchase");
+
+        if (this.remainingActions <= 0 || !chance(WATCH_PERCENT)) {
+            return;
+        }
+        onPage("watch");
+
+        if (this.remainingActions > 0 && chance(LIKE_PERCENT)) {
+            onPage("like");
+        }
+        if (this.remainingActions > 0 && chance(RATE_PERCENT)) {
+            startAction("on page");
+            this.generator.writeStringField("feature", "rate");
+            this.generator.writeStringField("rate",
+                    String.valueOf(1 + this.random.nextInt(MAX_RATE)));
+            this.generator.writeEndObject();
+        }
+    }
+
+    /**
+     * The method makes the user subscribe to one of the genres of the opened movie
+     */
+    private void subscribe() throws IOException {
+        if (this.page != Page.SEE_DETAILS) {
+            details();
+            return;
+        }
+
+        startAction("on page");
+        this.generator.writeStringField("feature", "subscribe");
+        this.generator.writeStringField("subscribedGenre",
+                GENRES.get(pickGenre(this.currentTraits)));
+        this.generator.writeEndObject();
+    }
+
+    /**
+     * The method makes the user buy tokens (or a premium account, once he has enough)
+     */
+    private void upgrades() throws IOException {
+        if (this.page == Page.MOVIES) {
+            // the upgrades cannot be reached from the "Movies Page"
+            if (!openDetails()) {
+                return;
+            }
+        }
+        if (this.page != Page.UPGRADES) {
+            changePage("upgrades", Page.UPGRADES);
+        }
+        if (this.remainingActions <= 0) {
+            return;
+        }
+
+        int user = this.currentUser;
+        if (!this.premium[user] && this.tokens[user] >= PREMIUM_PRICE
+                && chance(PREMIUM_UPGRADE_PERCENT)) {
+            onPage("buy premium account");
+            this.tokens[user] -= PREMIUM_PRICE;
+            this.premium[user] = true;
+            return;
+        }
+
+        int count = Math.min(this.balances[user], MIN_TOKENS + this.random.nextInt(TOKENS));
+        if (count == 0) {
+            changePage("homepage", Page.HOMEPAGE);
+            return;
+        }
+        startAction("on page");
+        this.generator.writeStringField("feature", "buy tokens");
+        this.generator.writeStringField("count", String.valueOf(count));
+        this.generator.writeEndObject();
+        this.balances[user] -= count;
+        this.tokens[user] += count;
+    }
+
+    /**
+     * The method makes the user go back from the details of a movie to the list of
+     * movies; going back from other pages leaves the session on a page that is not
+     * tracked, so the user logs out afterwards
+     */
+    private void back() throws IOException {
+        startAction("back");
+        this.generator.writeEndObject();
+        this.page = this.page == Page.SEE_DETAILS ? Page.MOVIES : Page.UNKNOWN;
+        this.focus = null;
+    }
+
+    private void logout() throws IOException {
+        changePage("logout", Page.UNAUTHENTICATED);
+        this.currentUser = -1;
+    }
+
+    private void addMovie() throws IOException {
+        this.addedMovies++;
+        String title = "Added " + createTitle(this.addedMovies);
+
+        startAction("database");
+        this.generator.writeStringField("feature", "add");
+        this.generator.writeFieldName("addedMovie");
+        int movieTraits = writeMovie(title);
+        this.generator.writeEndObject();
+        addTitle(title, movieTraits);
+    }
+
+    private void deleteMovie() throws IOException {
+        startAction("database");
+        this.generator.writeStringField("feature", "delete");
+
+        if (this.titles.isEmpty() || chance(MISSING_DELETE_PERCENT)) {
+            this.generator.writeStringField("deletedMovie", "Missing movie");
+        } else {
+            String title = pick(this.titles);
+            this.generator.writeStringField("deletedMovie", title);
+            removeTitle(title);
+        }
+        this.generator.writeEndObject();
+    }
+
+    private Step pickStep() {
+        int total = 0;
+        for (int weight : WEIGHTS) {
+            total += weight;
+        }
+
+        int value = this.random.nextInt(total);
+        int i;
+        for (i = 0; value >= WEIGHTS[i]; i++) {
+            value -= WEIGHTS[i];
+        }
+        return Step.values()[i];
+    }
+
+    private void writeActions(final int actionCount) throws IOException {
+        this.remainingActions = actionCount;
+        this.generator.writeArrayFieldStart("actions");
+
+        while (this.remainingActions > 0) {
+            if (this.page == Page.UNAUTHENTICATED) {
+                authenticate();
+                continue;
+            }
+
+            if (this.page == Page.UNKNOWN) {
+                logout();
+                continue;
+            }
+
+            switch (pickStep()) {
+                case MOVIES -> {
+                    if (this.page == Page.MOVIES) {
+                        details();
+                    } else {
+                        toMovies();
+                    }
+                }
+                case SEARCH -> search();
+                case FILTER -> filter();
+                case DETAILS -> details();
+                case SUBSCRIBE -> subscribe();
+                case UPGRADES -> upgrades();
+                case BACK -> back();
+                case ADD -> addMovie();
+                case DELETE -> deleteMovie();
+                case LOGOUT -> logout();
+                default -> throw new IllegalStateException();
+            }
+        }
+
+        this.generator.writeEndArray();
+    }
+
+    private void write(final int movieCount, final int actionCount) throws IOException {
+        int i;
+        this.generator.writeStartObject();
+
+        this.generator.writeArrayFieldStart("users");
+        for (i = 0; i < this.initialUsers; i++) {
+            this.generator.writeStartObject();
+            writeUser(i);
+            this.generator.writeEndObject();
+        }
+        this.generator.writeEndArray();
+
+        this.generator.writeArrayFieldStart("movies");
+        for (i = 0; i < movieCount; i++) {
+            String title = createTitle(i);
+            addTitle(title, writeMovie(title));
+        }
+        this.generator.writeEndArray();
+
+        writeActions(actionCount);
+        this.generator.writeEndObject();
+    }
+
+    /**
+     * The entry-point of the generator
+     * @param args: the output file, the number of movies, users and actions and
+     * the seed (all optional)
+     * @throws IOException: if the output file cannot be written
+     */
+    public static void main(final String[] args) throws IOException {
+        File output = new File(args.length > 0 ? args[0] : DEFAULT_OUTPUT);
+        int movieCount = args.length > ARG_MOVIES ? Integer.parseInt(args[ARG_MOVIES])
+                : DEFAULT_MOVIES;
+        int userCount = args.length > ARG_USERS ? Integer.parseInt(args[ARG_USERS])
+                : DEFAULT_USERS;
+        int actionCount = args.length > ARG_ACTIONS ? Integer.parseInt(args[ARG_ACTIONS])
+                : DEFAULT_ACTIONS;
+        long seed = args.length > ARG_SEED ? Long.parseLong(args[ARG_SEED]) : DEFAULT_SEED;
+
+        try (JsonGenerator generator = JsonRenderer.getMapper().getFactory()
+                .createGenerator(output, JsonEncoding.UTF8)) {
+            new WorkloadGenerator(generator, seed, movieCount, userCount)
+                    .write(movieCount, actionCount);
+        }
+    }
+}
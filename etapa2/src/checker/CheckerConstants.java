@@ -1,34 +1,34 @@
-package checker;
-
-/**
- * The class contains the minimum of constants needed.
- *
- * You can define your own constants here or create separate files.
- */
-public final class CheckerConstants {
-    private CheckerConstants() {
-    }
-
-    // checker constants
-    public static final Integer BIG_TEST_POINTS = 3;
-    public static final Integer MAXIMUM_ERROR_CHECKSTYLE = 30;
-    public static final Integer CHECKSTYLE_POINTS = 10;
-    public static final String TESTS_PATH = "input/";
-    public static final String OUT_PATH = "result/out_";
-    public static final String REF_PATH = "ref/ref_";
-    public static final String RESULT_PATH = "result";
-    public static final String OUT_FILE = "out.txt";
-    public static final String GAME_START = "game_start";
-    public static final String MULTIPLE_GAMES_VALID = "multiple_games_valid";
-    public static final String MULTIPLE_GAMES_INVALID = "multiple_games_invalid";
-    public static final String BIG_GAME = "big_game";
-    public static final Integer GAME_START_POINTS = 3;
-    public static final Integer SINGLE_GAME_POINTS = 4;
-    public static final Integer MULTIPLE_GAMES_VALID_POINTS = 5;
-    public static final Integer MULTIPLE_GAMES_INVALID_POINTS = 6;
-    public static final Integer BIG_GAME_POINTS = 10;
-    public static final int MAX_POINTS = 100;
-    public static final int FIVE_POINTS = 5;
-    public static final int ZERO_POINTS = 0;
-    public static final int LEN_LONGEST_TEST_NAME = 40;
-}
+package checker;
+
+/**
+ * The class contains the minimum of constants needed.
+ *
+ * You can define your own constants here or create separate files.
+ */
+public final class CheckerConstants {
+    private CheckerConstants() {
+    }
+
+    // checker constants
+    public static final Integer BIG_TEST_POINTS = 3;
+    public static final Integer MAXIMUM_ERROR_CHECKSTYLE = 30;
+    public static final Integer CHECKSTYLE_POINTS = 10;
+    public static final String TESTS_PATH = "input/";
+    public static final String OUT_PATH = "result/out_";
+    public static final String REF_PATH = "ref/ref_";
+    public static final String RESULT_PATH = "result";
+    public static final String OUT_FILE = "out.txt";
+    public static final String GAME_START = "game_start";
+    public static final String MULTIPLE_GAMES_VALID = "multiple_games_valid";
+    public static final String MULTIPLE_GAMES_INVALID = "multiple_games_invalid";
+    public static final String BIG_GAME = "big_game";
+    public static final Integer GAME_START_POINTS = 3;
+    public static final Integer SINGLE_GAME_POINTS = 4;
+    public static final Integer MULTIPLE_GAMES_VALID_POINTS = 5;
+    public static final Integer MULTIPLE_GAMES_INVALID_POINTS = 6;
+    public static final Integer BIG_GAME_POINTS = 10;
+    public static final int MAX_POINTS = 100;
+    public static final int FIVE_POINTS = 5;
+    public static final int ZERO_POINTS = 0;
+    public static final int LEN_LONGEST_TEST_NAME = 40;
+}
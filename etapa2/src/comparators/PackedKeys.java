@@ -0,0 +1,119 @@
+package comparators;
+
+import entities.Movie;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sorts movies the way the filter comparators do, without calling them: every movie
+ * gets a primitive key that holds its duration, its rating and its id (the directions
+ * of the sort are folded into the first two), so that the movies are sorted as
+ * an array of longs. The id makes every key unique and breaks the ties in increasing
+ * order of the ids (the order of the catalog), like the stable sort of the catalog
+ * with the comparators would.
+ */
+public final class PackedKeys {
+    private static final int KEY_BITS = Long.SIZE - 1;
+
+    private PackedKeys() {
+    }
+
+    /**
+     * The method returns the number of bits that hold values below a given bound
+     * @param bound: the exclusive upper bound of the values
+     * @return bits: the required number of bits
+     */
+    private static int bitsFor(final long bound) {
+        return bound <= 1 ? 0 : Long.SIZE - Long.numberOfLeadingZeros(bound - 1);
+    }
+
+    /**
+     * The method sorts a list of movies by duration and rating, like the comparator
+     * chosen by a filter for the given orders would
+     * @param movies: the movies that are sorted, in increasing order of their ids
+     * @param rating: the order of the ratings (null, if they are not sorted)
+     * @param duration: the order of the durations (null, if they are not sorted)
+     * @return ids: the ids of the movies, in sorted order, or null if there are
+     * no criteria or the keys do not fit in a long
+     */
+    public static int[] sort(final List<Movie> movies, final String rating,
+                             final String duration) {
+        if (rating == null && duration == null) {
+            return null;
+        }
+
+        SortOrder ratingOrder = SortOrder.decode(rating);
+        SortOrder durationOrder = SortOrder.decode(duration);
+        if (rating != null && duration != null
+                && (ratingOrder == SortOrder.NONE || durationOrder == SortOrder.NONE)) {
+            // the comparator of both criteria does not sort by either of them
+            ratingOrder = SortOrder.NONE;
+            durationOrder = SortOrder.NONE;
+        }
+
+        int count = movies.size();
+        int[] durations = new int[count];
+        double[] ratings = new double[count];
+        int minDuration = Integer.MAX_VALUE;
+        int maxDuration = Integer.MIN_VALUE;
+        int maxId = 0;
+        int i;
+        for (i = 0; i < count; i++) {
+            Movie movie = movies.get(i);
+            durations[i] = movie.getDuration();
+            // adding zero turns -0.0 into 0.0, which the comparators consider equal
+            ratings[i] = movie.getRating() + 0.0;
+            minDuration = Math.min(minDuration, durations[i]);
+            maxDuration = Math.max(maxDuration, durations[i]);
+            maxId = Math.max(maxId, movie.getId());
+        }
+
+        // the durations are kept as offsets from the shortest one, while the ratings
+        // are replaced by their rank among the distinct ratings
+        double[] distinctRatings = ratings.clone();
+        int distinct = 0;
+        if (ratingOrder != SortOrder.NONE) {
+            Arrays.sort(distinctRatings);
+        }
+        for (i = 0; i < count && ratingOrder != SortOrder.NONE; i++) {
+            if (distinct == 0 || distinctRatings[i] != distinctRatings[distinct - 1]) {
+                distinctRatings[distinct++] = distinctRatings[i];
+            }
+        }
+
+        int durationBits = durationOrder == SortOrder.NONE ? 0
+                : bitsFor((long) maxDuration - minDuration + 1);
+        int ratingBits = ratingOrder == SortOrder.NONE ? 0 : bitsFor(distinct);
+        int idBits = bitsFor((long) maxId + 1);
+        if (durationBits + ratingBits + idBits > KEY_BITS) {
+            return null;
+        }
+
+        long[] keys = new long[count];
+        for (i = 0; i < count; i++) {
+            long durationKey = (long) durations[i] - minDuration;
+            if (durationOrder == SortOrder.DECREASING) {
+                durationKey = maxDuration - minDuration - durationKey;
+            }
+            long ratingKey = 0;
+            if (ratingBits != 0) {
+                ratingKey = Arrays.binarySearch(distinctRatings, 0, distinct, ratings[i]);
+            }
+            if (ratingOrder == SortOrder.DECREASING) {
+                ratingKey = distinct - 1 - ratingKey;
+            }
+
+            long key = durationBits == 0 ? 0 : durationKey;
+            key = (key << ratingBits) | (ratingBits == 0 ? 0 : ratingKey);
+            keys[i] = (key << idBits) | movies.get(i).getId();
+        }
+        Arrays.sort(keys);
+
+        long idMask = (1L << idBits) - 1;
+        int[] ids = new int[count];
+        for (i = 0; i < count; i++) {
+            ids[i] = (int) (keys[i] & idMask);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,24 @@
+package comparators;
+
+/**
+ * The orders a list of movies can be sorted in, decoded once when a comparator
+ * is created, so that the comparisons do not compare strings
+ */
+enum SortOrder {
+    INCREASING, DECREASING, NONE;
+
+    /**
+     * The method decodes the order given by a filter
+     * @param criteria: the order, as it appears in the input
+     * @return order: the matching order or NONE, if there is none
+     */
+    static SortOrder decode(final String criteria) {
+        if ("increasing".equals(criteria)) {
+            return INCREASING;
+        }
+        if ("decreasing".equals(criteria)) {
+            return DECREASING;
+        }
+        return NONE;
+    }
+}
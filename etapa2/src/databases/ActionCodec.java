@@ -0,0 +1,231 @@
+package databases;
+
+import input.ActionInput;
+import input.ContainsInput;
+import input.CredentialsInput;
+import input.FilterInput;
+import input.MovieInput;
+import input.SortInput;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+/**
+ * Turns the actions of the platform into bytes and back, so that they can be journaled.
+ *
+ * Every number is written as a variable-length integer (seven bits per byte, the last
+ * byte of a number being the only one without its highest bit set), every string as its
+ * length plus one followed by its UTF-8 bytes (zero standing for null) and every list
+ * as its size plus one followed by its elements. The action starts with a mask of
+ * the optional parts it holds (the credentials, the filters, the sort, the contains
+ * criteria and the added movie), so that the parts it does not hold take no space.
+ */
+public final class ActionCodec {
+    private static final int HAS_CREDENTIALS = 1;
+    private static final int HAS_FILTERS = 1 << 1;
+    private static final int HAS_SORT = 1 << 2;
+    private static final int HAS_CONTAINS = 1 << 3;
+    private static final int HAS_ADDED_MOVIE = 1 << 4;
+
+    private static final int PAYLOAD_BITS = 7;
+    private static final int PAYLOAD_MASK = (1 << PAYLOAD_BITS) - 1;
+    private static final int CONTINUATION = 1 << PAYLOAD_BITS;
+
+    private ActionCodec() {
+    }
+
+    /**
+     * The method encodes an action
+     * @param action: the action that is encoded
+     * @return bytes: the encoded action
+     */
+    public static byte[] encode(final ActionInput action) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        FilterInput filters = action.getFilters();
+        int parts = 0;
+
+        if (action.getCredentials() != null) {
+            parts |= HAS_CREDENTIALS;
+        }
+        if (filters != null) {
+            parts |= HAS_FILTERS;
+            if (filters.getSort() != null) {
+                parts |= HAS_SORT;
+            }
+            if (filters.getContains() != null) {
+                parts |= HAS_CONTAINS;
+            }
+        }
+        if (action.getAddedMovie() != null) {
+            parts |= HAS_ADDED_MOVIE;
+        }
+
+        writeNumber(out, parts);
+        writeString(out, action.getType());
+        writeString(out, action.getPage());
+        writeString(out, action.getFeature());
+        writeString(out, action.getStartsWith());
+        writeString(out, action.getMovie());
+        writeNumber(out, action.getRate());
+        writeNumber(out, action.getCount());
+        writeString(out, action.getSubscribedGenre());
+        writeString(out, action.getDeletedMovie());
+
+        if ((parts & HAS_CREDENTIALS) != 0) {
+            CredentialsInput credentials = action.getCredentials();
+            writeString(out, credentials.getName());
+            writeString(out, credentials.getPassword());
+            writeString(out, credentials.getAccountType());
+            writeString(out, credentials.getCountry());
+            writeNumber(out, credentials.getBalance());
+        }
+        if ((parts & HAS_SORT) != 0) {
+            writeString(out, filters.getSort().getRating());
+            writeString(out, filters.getSort().getDuration());
+        }
+        if ((parts & HAS_CONTAINS) != 0) {
+            writeStrings(out, filters.getContains().getActors());
+            writeStrings(out, filters.getContains().getGenre());
+        }
+        if ((parts & HAS_ADDED_MOVIE) != 0) {
+            MovieInput movie = action.getAddedMovie();
+            writeString(out, movie.getName());
+            writeNumber(out, movie.getYear());
+            writeNumber(out, movie.getDuration());
+            writeStrings(out, movie.getGenres());
+            writeStrings(out, movie.getActors());
+            writeStrings(out, movie.getCountriesBanned());
+        }
+
+        return out.toByteArray();
+    }
+
+    /**
+     * The method decodes an action
+     * @param buffer: the bytes of the action, starting at the buffer's position
+     * (the position is moved past the action)
+     * @return action: the decoded action
+     */
+    public static ActionInput decode(final ByteBuffer buffer) {
+        ActionInput action = new ActionInput();
+        int parts = readNumber(buffer);
+
+        action.setType(readString(buffer));
+        action.setPage(readString(buffer));
+        action.setFeature(readString(buffer));
+        action.setStartsWith(readString(buffer));
+        action.setMovie(readString(buffer));
+        action.setRate(readNumber(buffer));
+        action.setCount(readNumber(buffer));
+        action.setSubscribedGenre(readString(buffer));
+        action.setDeletedMovie(readString(buffer));
+
+        if ((parts & HAS_CREDENTIALS) != 0) {
+            CredentialsInput credentials = new CredentialsInput();
+            credentials.setName(readString(buffer));
+            credentials.setPassword(readString(buffer));
+            credentials.setAccountType(readString(buffer));
+            credentials.setCountry(readString(buffer));
+            credentials.setBalance(readNumber(buffer));
+            action.setCredentials(credentials);
+        }
+        if ((parts & HAS_FILTERS) != 0) {
+            action.setFilters(new FilterInput());
+        }
+        if ((parts & HAS_SORT) != 0) {
+            SortInput sort = new SortInput();
+            sort.setRating(readString(buffer));
+            sort.setDuration(readString(buffer));
+            action.getFilters().setSort(sort);
+        }
+        if ((parts & HAS_CONTAINS) != 0) {
+            ContainsInput contains = new ContainsInput();
+            contains.setActors(readStrings(buffer));
+            contains.setGenres(readStrings(buffer));
+            action.getFilters().setContains(contains);
+        }
+        if ((parts & HAS_ADDED_MOVIE) != 0) {
+            MovieInput movie = new MovieInput();
+            movie.setName(readString(buffer));
+            movie.setYear(readNumber(buffer));
+            movie.setDuration(readNumber(buffer));
+            movie.setGenres(readStrings(buffer));
+            movie.setActors(readStrings(buffer));
+            movie.setCountriesBanned(readStrings(buffer));
+            action.setAddedMovie(movie);
+        }
+
+        return action;
+    }
+
+    private static void writeNumber(final ByteArrayOutputStream out, final int value) {
+        int remaining = value;
+        while ((remaining & ~PAYLOAD_MASK) != 0) {
+            out.write((remaining & PAYLOAD_MASK) | CONTINUATION);
+            remaining >>>= PAYLOAD_BITS;
+        }
+        out.write(remaining);
+    }
+
+    private static int readNumber(final ByteBuffer buffer) {
+        int value = 0;
+        int shift = 0;
+        int current = buffer.get();
+        while ((current & CONTINUATION) != 0) {
+            value |= (current & PAYLOAD_MASK) << shift;
+            shift += PAYLOAD_BITS;
+            current = buffer.get();
+        }
+        return value | ((current & PAYLOAD_MASK) << shift);
+    }
+
+    private static void writeString(final ByteArrayOutputStream out, final String value) {
+        if (value == null) {
+            writeNumber(out, 0);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeNumber(out, bytes.length + 1);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static String readString(final ByteBuffer buffer) {
+        int length = readNumber(buffer) - 1;
+        if (length < 0) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeStrings(final ByteArrayOutputStream out,
+                                     final ArrayList<String> values) {
+        if (values == null) {
+            writeNumber(out, 0);
+            return;
+        }
+
+        writeNumber(out, values.size() + 1);
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static ArrayList<String> readStrings(final ByteBuffer buffer) {
+        int size = readNumber(buffer) - 1;
+        if (size < 0) {
+            return null;
+        }
+
+        ArrayList<String> values = new ArrayList<String>(size);
+        int i;
+        for (i = 0; i < size; i++) {
+            values.add(readString(buffer));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,394 @@
+package databases;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import input.ActionInput;
+import output.JsonRenderer;
+import output.OutputWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only journal of the actions applied to the platform, which lets a platform
+ * that stopped unexpectedly resume from where it was.
+ *
+ * The journal lives in a directory of its own: a checkpoint ("checkpoint-N") is
+ * a snapshot of the database and of the session taken after the first N actions, while
+ * the log that follows it ("journal-N") holds the actions applied afterwards. Every
+ * action is written to the log before it is applied, framed by its length and its
+ * CRC-32 checksum; a record that is cut short or does not match its checksum marks
+ * the end of the log, which is where a platform stopped in the middle of a write.
+ *
+ * The results given by the platform are part of its state as well: a log starts with
+ * the position the output file had reached when its checkpoint was taken, so that
+ * a recovery drops whatever was written after it and writes the results of
+ * the replayed actions again, right where they belong.
+ *
+ * The records are forced to the disk in groups (once a given number of them has
+ * gathered or the oldest pending one has waited for a given time, which is checked
+ * whenever an action is appended), so that a single synchronization covers many
+ * actions; the actions of the last group may be lost if the platform stops before
+ * it is forced. A checkpoint is taken periodically,
+ * after which the older checkpoints and logs are deleted, so that a recovery only
+ * replays the actions applied since the last checkpoint.
+ */
+public final class ActionJournal implements Closeable {
+    public static final int DEFAULT_GROUP_SIZE = 64;
+    public static final long DEFAULT_GROUP_MILLIS = 10;
+    public static final long DEFAULT_CHECKPOINT_INTERVAL = 100_000;
+
+    private static final String CHECKPOINT_PREFIX = "checkpoint-";
+    private static final String LOG_PREFIX = "journal-";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int POSITION_SIZE = 2 * Long.BYTES;
+    private static final int BLOCK_SIZE = 1 << 16;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private final Path directory;
+    private final int groupSize;
+    private final long groupNanos;
+    private final long checkpointInterval;
+
+    // the records that have not been written to the log yet, the number of records
+    // that have not been forced to the disk and the moment the oldest of them
+    // was appended at
+    private final ByteBuffer block;
+    private final CRC32 checksum;
+    private FileChannel log;
+    private int pending;
+    private long pendingSince;
+
+    // the file the results of the actions are written to (null, if they are discarded)
+    private OutputWriter output;
+
+    // the number of actions applied since the platform started and the number
+    // of actions the last checkpoint was taken after
+    private long sequence;
+    private long checkpointSequence;
+
+    /**
+     * The constructor opens a journal, without reading or changing its directory
+     * (a journal is started by recover())
+     * @param directory: the directory the journal is kept in (it is created, if needed)
+     * @param groupSize: the maximum number of actions forced to the disk at once
+     * @param groupMillis: the maximum time an action waits for its group, in milliseconds
+     * @param checkpointInterval: the number of actions between two checkpoints
+     * @throws IOException: if the directory cannot be created
+     */
+    public ActionJournal(final Path directory, final int groupSize, final long groupMillis,
+                         final long checkpointInterval) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.groupSize = groupSize;
+        this.groupNanos = groupMillis * NANOS_PER_MILLI;
+        this.checkpointInterval = checkpointInterval;
+        this.block = ByteBuffer.allocateDirect(BLOCK_SIZE);
+        this.checksum = new CRC32();
+    }
+
+    public long getSequence() {
+        return this.sequence;
+    }
+
+    /**
+     * The method returns the writer of the output file, as recover() left it (the
+     * results of the next actions are written through it; it is not closed along
+     * with the journal)
+     * @return output: the writer of the output file (null, if there is none)
+     */
+    public OutputWriter getOutput() {
+        return this.output;
+    }
+
+    private Path checkpointFile(final long checkpoint) {
+        return this.directory.resolve(CHECKPOINT_PREFIX + checkpoint);
+    }
+
+    private Path logFile(final long checkpoint) {
+        return this.directory.resolve(LOG_PREFIX + checkpoint);
+    }
+
+    /**
+     * The method returns the sequences of the checkpoints or of the logs held by
+     * the directory, in increasing order
+     * @param prefix: the prefix of the requested files
+     * @return sequences: the sequences the files are named after
+     */
+    private List<Long> list(final String prefix) throws IOException {
+        ArrayList<Long> sequences = new ArrayList<Long>();
+
+        try (Stream<Path> files = Files.list(this.directory)) {
+            Iterator<Path> iterator = files.iterator();
+            while (iterator.hasNext()) {
+                String name = iterator.next().getFileName().toString();
+                if (name.startsWith(prefix) && !name.endsWith(TEMPORARY_SUFFIX)) {
+                    try {
+                        sequences.add(Long.parseLong(name.substring(prefix.length())));
+                    } catch (NumberFormatException exception) {
+                        // a file that does not belong to the journal
+                        continue;
+                    }
+                }
+            }
+        }
+
+        sequences.sort(null);
+        return sequences;
+    }
+
+    /**
+     * The method brings the platform to the state the journal ends in: the last
+     * checkpoint is loaded and the actions logged after it are applied again
+     * (their results being written to the output file once more); if the journal
+     * is empty, the current state of the platform becomes its first checkpoint
+     * and the output file is started over
+     * @param database: the database that is restored
+     * @param application: the session that is restored (it must run on the database)
+     * @param outputFile: the file the results are written to (null, if they are
+     * discarded)
+     * @return sequence: the number of actions the platform had applied before
+     * it stopped (0, if the journal was empty)
+     * @throws IOException: if the journal or the output file cannot be read or written
+     */
+    public long recover(final Database database, final Application application,
+                        final File outputFile) throws IOException {
+        List<Long> checkpoints = list(CHECKPOINT_PREFIX);
+
+        if (checkpoints.isEmpty()) {
+            this.sequence = 0;
+            if (outputFile != null) {
+                this.output = new OutputWriter(outputFile);
+            }
+            checkpoint(database, application);
+            return this.sequence;
+        }
+
+        this.checkpointSequence = checkpoints.get(checkpoints.size() - 1);
+        this.sequence = this.checkpointSequence;
+        Snapshot.load(database, application, checkpointFile(this.checkpointSequence));
+
+        // a log is complete before its checkpoint becomes visible
+        this.log = FileChannel.open(logFile(this.checkpointSequence),
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer contents = this.log.map(FileChannel.MapMode.READ_ONLY, 0, this.log.size());
+        if (contents.remaining() < POSITION_SIZE) {
+            throw new IOException("The log is truncated: " + logFile(this.checkpointSequence));
+        }
+        long offset = contents.getLong();
+        long results = contents.getLong();
+        if (outputFile != null) {
+            this.output = new OutputWriter(outputFile, new OutputWriter.Position(offset,
+                    results));
+        }
+        long end = replay(application, contents);
+
+        // the torn record the platform may have stopped in the middle of is dropped,
+        // so that the next records follow the last complete one
+        this.log.truncate(end);
+        this.log.position(end);
+        this.log.force(false);
+        return this.sequence;
+    }
+
+    /**
+     * The method applies again the actions of the log, up to its first record
+     * that is incomplete or corrupted
+     * @param application: the session the actions are applied in
+     * @param contents: the log, positioned at its first record
+     * @return end: the position right after the last complete record
+     */
+    private long replay(final Application application, final ByteBuffer contents)
+            throws IOException {
+        ArrayNode results = JsonRenderer.getMapper().createArrayNode();
+
+        while (contents.remaining() >= HEADER_SIZE) {
+            int start = contents.position();
+            int length = contents.getInt();
+            int expected = contents.getInt();
+            if (length < 0 || length > contents.remaining()) {
+                return start;
+            }
+
+            ByteBuffer record = contents.slice(contents.position(), length);
+            this.checksum.reset();
+            this.checksum.update(record.duplicate());
+            if ((int) this.checksum.getValue() != expected) {
+                return start;
+            }
+
+            application.execute(ActionCodec.decode(record), results);
+            if (this.output != null) {
+                this.output.write(results);
+            } else {
+                results.removeAll();
+            }
+            contents.position(start + HEADER_SIZE + length);
+            this.sequence++;
+        }
+
+        return contents.position();
+    }
+
+    /**
+     * The method writes an action to the log; it must be called before
+     * the action is applied
+     * @param action: the action that is about to be applied
+     * @throws IOException: if the log cannot be written
+     */
+    public synchronized void append(final ActionInput action) throws IOException {
+        byte[] record = ActionCodec.encode(action);
+
+        this.checksum.reset();
+        this.checksum.update(record);
+        if (this.block.remaining() < HEADER_SIZE + record.length) {
+            write();
+        }
+        if (this.block.remaining() < HEADER_SIZE + record.length) {
+            ByteBuffer framed = ByteBuffer.allocate(HEADER_SIZE + record.length);
+            framed.putInt(record.length).putInt((int) this.checksum.getValue()).put(record);
+            framed.flip();
+            while (framed.hasRemaining()) {
+                this.log.write(framed);
+            }
+        } else {
+            this.block.putInt(record.length).putInt((int) this.checksum.getValue()).put(record);
+        }
+
+        if (this.pending == 0) {
+            this.pendingSince = System.nanoTime();
+        }
+        this.pending++;
+        this.sequence++;
+
+        if (this.pending >= this.groupSize
+                || System.nanoTime() - this.pendingSince >= this.groupNanos) {
+            sync();
+        }
+    }
+
+    private void write() throws IOException {
+        this.block.flip();
+        while (this.block.hasRemaining()) {
+            this.log.write(this.block);
+        }
+        this.block.clear();
+    }
+
+    /**
+     * The method forces the actions appended so far to the disk
+     * @throws IOException: if the log cannot be written
+     */
+    public synchronized void sync() throws IOException {
+        write();
+        if (this.pending > 0) {
+            this.log.force(false);
+            this.pending = 0;
+        }
+    }
+
+    /**
+     * The method checks if enough actions have been applied since the last
+     * checkpoint for a new one to be taken
+     * @return boolean: "true" if a checkpoint is due, "false" otherwise
+     */
+    public synchronized boolean isCheckpointDue() {
+        return this.sequence - this.checkpointSequence >= this.checkpointInterval;
+    }
+
+    /**
+     * The method takes a checkpoint of the platform and starts a new log after it;
+     * the previous checkpoints and logs are deleted once it is complete
+     * @param database: the database that is saved
+     * @param application: the session that is saved (it must not execute any
+     * action meanwhile, and the results of the applied actions must have been
+     * written to the output file)
+     * @throws IOException: if the checkpoint cannot be written
+     */
+    public synchronized void checkpoint(final Database database, final Application application)
+            throws IOException {
+        // the previous checkpoint stays usable until the new one is complete
+        if (this.log != null) {
+            sync();
+        }
+        OutputWriter.Position position = this.output != null ? this.output.sync()
+                : OutputWriter.Position.START;
+
+        Path temporary = this.directory.resolve(CHECKPOINT_PREFIX + this.sequence
+                + TEMPORARY_SUFFIX);
+        Snapshot.write(database, application, temporary);
+
+        // the new log (starting with the position of the output file) becomes visible
+        // first, and the checkpoint only once both are complete
+        Path temporaryLog = this.directory.resolve(LOG_PREFIX + this.sequence
+                + TEMPORARY_SUFFIX);
+        FileChannel next = FileChannel.open(temporaryLog, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(POSITION_SIZE);
+        header.putLong(position.offset()).putLong(position.results());
+        header.flip();
+        while (header.hasRemaining()) {
+            next.write(header);
+        }
+        next.force(false);
+        Files.move(temporaryLog, logFile(this.sequence), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        Files.move(temporary, checkpointFile(this.sequence), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+
+        if (this.log != null) {
+            this.log.close();
+        }
+        this.checkpointSequence = this.sequence;
+        this.log = next;
+
+        for (long previous : list(CHECKPOINT_PREFIX)) {
+            if (previous != this.sequence) {
+                Files.delete(checkpointFile(previous));
+            }
+        }
+        for (long previous : list(LOG_PREFIX)) {
+            if (previous != this.sequence) {
+                Files.delete(logFile(previous));
+            }
+        }
+    }
+
+    /**
+     * The method closes the journal and deletes its checkpoints and logs
+     * (once the platform has finished its work, there is nothing to recover)
+     * @throws IOException: if the files cannot be deleted
+     */
+    public synchronized void delete() throws IOException {
+        close();
+        for (long checkpoint : list(CHECKPOINT_PREFIX)) {
+            Files.delete(checkpointFile(checkpoint));
+        }
+        for (long checkpoint : list(LOG_PREFIX)) {
+            Files.delete(logFile(checkpoint));
+        }
+    }
+
+    /**
+     * The method forces the pending actions to the disk and closes the log
+     * @throws IOException: if the log cannot be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.log != null) {
+            sync();
+            this.log.close();
+            this.log = null;
+        }
+    }
+}
@@ -1,156 +1,367 @@
-package databases;
-
-import entities.User;
-import input.ActionInput;
-import pages.*;
-import java.util.ArrayList;
-import java.util.Stack;
-
-public final class Application {
-    private static Application instance = null;
-    private final ArrayList<Page> pages;
-    private User currentUser;
-    private boolean hasLoggedInUser;
-
-    // the stack stores all the "change page" commands in order to determine
-    // to which page the user should be redirected to when visiting the most recent
-    // previous page
-    // the top element of the stack represents the command which belongs to the
-    // current page
-    private final Stack<ActionInput> previousPages;
-
-    // the attribute memorizes the number of pages that are visited within the
-    // application's page hierarchy by the current user
-    // (which is similar to a path in a tree data structure)
-    private int maxPages;
-
-    private Application() {
-        this.pages = new ArrayList<Page>();
-        this.previousPages = new Stack<ActionInput>();
-    }
-
-    /**
-     * The method returns the Singleton instance of the class
-     *
-     * @return instance: the Application instance that contains all the pages that
-     * the implemented platform contains
-     */
-    public static Application getInstance() {
-        if (instance == null) {
-            instance = new Application();
-        }
-        return instance;
-    }
-
-    public UnAuthPage getUnAuthPage() {
-        return (UnAuthPage) this.pages.get(PageCreator.PageType.UnAuthPage.ordinal());
-    }
-
-    public AuthPage getAuthPage() {
-        return (AuthPage) this.pages.get(PageCreator.PageType.AuthPage.ordinal());
-    }
-
-    public Logout getLogout() {
-        return (Logout) this.pages.get(PageCreator.PageType.Logout.ordinal());
-    }
-
-    public Login getLogin() {
-        return (Login) this.pages.get(PageCreator.PageType.Login.ordinal());
-    }
-
-    public Register getRegister() {
-        return (Register) this.pages.get(PageCreator.PageType.Register.ordinal());
-    }
-
-    public Movies getMovies() {
-        return (Movies) this.pages.get(PageCreator.PageType.Movies.ordinal());
-    }
-
-    public Upgrades getUpgrades() {
-        return (Upgrades) this.pages.get(PageCreator.PageType.Upgrades.ordinal());
-    }
-
-    public User getCurrentUser() {
-        return this.currentUser;
-    }
-
-    public boolean getHasLoggedInUser() {
-        return this.hasLoggedInUser;
-    }
-
-    public int getMaxPages() {
-        return maxPages;
-    }
-
-    public void setMaxPages(final int maxPages) {
-        this.maxPages = maxPages;
-    }
-
-    /**
-     * The method initializes the attributes the platform has
-     *
-     * @param database: the database that the contained pages have access to
-     */
-    public void init(final Database database) {
-
-        for (PageCreator.PageType pageType : PageCreator.PageType.values()) {
-            this.pages.add(PageCreator.createPage(pageType, database, instance));
-        }
-
-        userIsNotLoggedIn();
-        emptyPreviousPages();
-    }
-
-    public void setCurrentUser(final User user) {
-        this.currentUser = user;
-    }
-
-    /**
-     * The method indicates that the platform currently has a logged-in user
-     */
-    public void userIsLoggedIn() {
-        this.hasLoggedInUser = true;
-    }
-
-    /**
-     * The method indicates that the platform does not currently have
-     * a logged-in user
-     */
-    public void userIsNotLoggedIn() {
-        this.hasLoggedInUser = false;
-    }
-
-    public Stack<ActionInput> getPreviousPages() {
-        return previousPages;
-    }
-
-    /**
-     * The method adds a new "change page" action to the platform's stack of
-     * fulfilled commands used for moving onto a previous page within the page's
-     * hierarchy
-     * @param action: the action that is added to the stack
-     */
-    public void addPreviousPage(final ActionInput action) {
-
-        if (this.previousPages.isEmpty()) {
-            this.previousPages.push(action);
-            return;
-        }
-
-        if (action.getPage().compareTo(this.previousPages.peek().getPage()) != 0) {
-            this.previousPages.push(action);
-        }
-    }
-
-    /**
-     * The method clears the stack of fulfilled commands used for moving onto a previous
-     * page within the application
-     */
-    public void emptyPreviousPages() {
-        while (!this.previousPages.isEmpty()) {
-            this.previousPages.pop();
-        }
-
-        this.maxPages = 0;
-    }
-}
+package databases;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import entities.Movie;
+import entities.User;
+import input.ActionInput;
+import input.Feature;
+import pages.*;
+import validators.VerifyRecommendations;
+import validators.VerifyUndo;
+import java.util.ArrayList;
+import java.util.Stack;
+import java.util.concurrent.locks.Lock;
+
+public final class Application {
+    private static Application instance = null;
+    private final ArrayList<Page> pages;
+    private Database database;
+
+    // every instance of the class is a browsing session of the platform: it holds
+    // the user that is navigating through the pages, the page he is currently on
+    // and the movies he sees on the screen, while the database is shared by all
+    // the sessions
+    private User currentUser;
+    private Page currentPage;
+    private final ArrayList<Movie> currentMovieList;
+    private boolean hasLoggedInUser;
+
+    // the stack stores all the "change page" commands in order to determine
+    // to which page the user should be redirected to when visiting the most recent
+    // previous page
+    // the top element of the stack represents the command which belongs to the
+    // current page
+    private final Stack<ActionInput> previousPages;
+
+    // the attribute memorizes the number of pages that are visited within the
+    // application's page hierarchy by the current user
+    // (which is similar to a path in a tree data structure)
+    private int maxPages;
+
+    private Application() {
+        this.pages = new ArrayList<Page>();
+        this.currentMovieList = new ArrayList<Movie>();
+        this.previousPages = new Stack<ActionInput>();
+    }
+
+    /**
+     * The method returns the Singleton instance of the class
+     * (the default session of the platform)
+     *
+     * @return instance: the Application instance that contains all the pages that
+     * the implemented platform contains
+     */
+    public static Application getInstance() {
+        if (instance == null) {
+            instance = new Application();
+        }
+        return instance;
+    }
+
+    /**
+     * The method creates a new browsing session of the platform, which is not
+     * initialized yet (it gets its pages once it is given a database, through init())
+     *
+     * @return session: the uninitialized session
+     */
+    public static Application create() {
+        return new Application();
+    }
+
+    /**
+     * The method creates a new browsing session of the platform, independent of
+     * all the other ones; the sessions that share a database may run on
+     * separate threads
+     *
+     * @param database: the database that the session's pages have access to
+     * @return session: the initialized session
+     */
+    public static Application createSession(final Database database) {
+        Application session = new Application();
+        session.init(database);
+        return session;
+    }
+
+    public UnAuthPage getUnAuthPage() {
+        return (UnAuthPage) this.pages.get(PageCreator.PageType.UnAuthPage.ordinal());
+    }
+
+    public AuthPage getAuthPage() {
+        return (AuthPage) this.pages.get(PageCreator.PageType.AuthPage.ordinal());
+    }
+
+    public Logout getLogout() {
+        return (Logout) this.pages.get(PageCreator.PageType.Logout.ordinal());
+    }
+
+    public Login getLogin() {
+        return (Login) this.pages.get(PageCreator.PageType.Login.ordinal());
+    }
+
+    public Register getRegister() {
+        return (Register) this.pages.get(PageCreator.PageType.Register.ordinal());
+    }
+
+    public Movies getMovies() {
+        return (Movies) this.pages.get(PageCreator.PageType.Movies.ordinal());
+    }
+
+    public Upgrades getUpgrades() {
+        return (Upgrades) this.pages.get(PageCreator.PageType.Upgrades.ordinal());
+    }
+
+    public SeeDetails getSeeDetails() {
+        return (SeeDetails) this.pages.get(PageCreator.PageType.SeeDetails.ordinal());
+    }
+
+    /**
+     * The method returns one of the session's pages
+     * @param pageType: the type of the requested page
+     * @return page: the session's page of the given type
+     */
+    public Page getPage(final PageCreator.PageType pageType) {
+        return this.pages.get(pageType.ordinal());
+    }
+
+    /**
+     * The method returns the type of the page the session is currently on
+     * @return pageType: the requested type or null, if the session has not
+     * executed any action yet
+     */
+    public PageCreator.PageType getCurrentPageType() {
+        int index = this.pages.indexOf(this.currentPage);
+
+        return index < 0 ? null : PageCreator.PageType.values()[index];
+    }
+
+    public User getCurrentUser() {
+        return this.currentUser;
+    }
+
+    public Page getCurrentPage() {
+        return this.currentPage;
+    }
+
+    public void setCurrentPage(final Page page) {
+        this.currentPage = page;
+    }
+
+    public ArrayList<Movie> getCurrentMovieList() {
+        return this.currentMovieList;
+    }
+
+    /**
+     * The method adds a movie to the list of movies the current user is able
+     * to see on the screen
+     * @param movie: the movie that is available
+     * (can be watched in the country the user comes from)
+     */
+    public void addCurrentMovie(final Movie movie) {
+        this.currentMovieList.add(movie);
+    }
+
+    /**
+     * The method clears the list of movies that are shown on the screen
+     */
+    public void removeCurrentMovies() {
+        this.currentMovieList.clear();
+    }
+
+    public boolean getHasLoggedInUser() {
+        return this.hasLoggedInUser;
+    }
+
+    public int getMaxPages() {
+        return maxPages;
+    }
+
+    public void setMaxPages(final int maxPages) {
+        this.maxPages = maxPages;
+    }
+
+    /**
+     * The method initializes the attributes the platform has
+     *
+     * @param database: the database that the contained pages have access to
+     */
+    public void init(final Database database) {
+        this.database = database;
+        this.database.addSession(this);
+        this.pages.clear();
+
+        for (PageCreator.PageType pageType : PageCreator.PageType.values()) {
+            this.pages.add(PageCreator.createPage(pageType, database, this));
+        }
+
+        this.currentUser = null;
+        this.currentPage = null;
+        removeCurrentMovies();
+        userIsNotLoggedIn();
+        emptyPreviousPages();
+    }
+
+    /**
+     * The method changes the user that navigates through the platform; the movies
+     * shown on the screen belong to the previous user, so they are cleared
+     * @param user: the user that takes over the session
+     */
+    public void setCurrentUser(final User user) {
+        this.currentUser = user;
+        removeCurrentMovies();
+    }
+
+    /**
+     * The method applies an action to the platform on behalf of the session's user;
+     * the actions that add or delete movies or users hold the database's write lock,
+     * while all the other ones hold its read lock along with the lock of the session's
+     * user, so that the sessions of different users run them at once
+     *
+     * @param action: the action that is executed
+     * @param output: the JSON array the results of the action are added to
+     */
+    public void execute(final ActionInput action, final ArrayNode output) {
+
+        // if the platform does not have an active user who is
+        // navigating through the pages' hierarchy, a default one
+        // is created
+        if (!this.hasLoggedInUser) {
+            setCurrentUser(new User());
+            // redirecting to the "Unauthenticated Page"
+            this.currentPage = getUnAuthPage();
+        }
+
+        if (changesCatalog(action)) {
+            Lock lock = this.database.getLock().writeLock();
+
+            lock.lock();
+            try {
+                executeAction(action, output);
+            } finally {
+                lock.unlock();
+            }
+            return;
+        }
+
+        Lock lock = this.database.getLock().readLock();
+        Lock userLock = this.currentUser.getLock();
+
+        lock.lock();
+        userLock.lock();
+        try {
+            executeAction(action, output);
+        } finally {
+            userLock.unlock();
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The method checks if an action may add or delete movies or users (the changes
+     * of a single user, of his movies' statistics and of the session's own state
+     * do not count)
+     * @param action: the action that is checked
+     * @return boolean: "true" if the action needs exclusive access to the database,
+     * "false" otherwise
+     */
+    private static boolean changesCatalog(final ActionInput action) {
+        return switch (action.getActionType()) {
+            case DATABASE -> true;
+            case ON_PAGE -> action.getFeatureCode() == Feature.REGISTER;
+            default -> false;
+        };
+    }
+
+    /**
+     * The method applies an action to the platform
+     *
+     * @param action: the action that is executed
+     * @param output: the JSON array the results of the action are added to
+     */
+    private void executeAction(final ActionInput action, final ArrayNode output) {
+        switch (action.getActionType()) {
+            // the commands that can be applied to the database
+            case DATABASE -> {
+                switch (action.getFeatureCode()) {
+                    case ADD -> this.database.addMovie(action, output);
+                    case DELETE -> this.database.deleteMovie(action, output);
+                    default -> { }
+                }
+            }
+            // the commands that manipulate the platform
+            case BACK -> VerifyUndo.backAction(this, output);
+            case CHANGE_PAGE -> this.currentPage.access(this.currentUser, action, output);
+            case ON_PAGE -> this.currentPage.action(this.currentUser, action, output);
+            default -> { }
+        }
+    }
+
+    /**
+     * The method gives a movie recommendation to the session's user,
+     * if he is a "premium" one
+     *
+     * @param output: the JSON array the recommendation is added to
+     */
+    public void recommend(final ArrayNode output) {
+        Lock lock = this.database.getLock().readLock();
+        Lock userLock = this.currentUser.getLock();
+
+        // the recommendation only reads the database, and only changes the user
+        lock.lock();
+        userLock.lock();
+        try {
+            VerifyRecommendations.getRecommendation(this, this.database, output);
+        } finally {
+            userLock.unlock();
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The method indicates that the platform currently has a logged-in user
+     */
+    public void userIsLoggedIn() {
+        this.hasLoggedInUser = true;
+    }
+
+    /**
+     * The method indicates that the platform does not currently have
+     * a logged-in user
+     */
+    public void userIsNotLoggedIn() {
+        this.hasLoggedInUser = false;
+    }
+
+    public Stack<ActionInput> getPreviousPages() {
+        return previousPages;
+    }
+
+    /**
+     * The method adds a new "change page" action to the platform's stack of
+     * fulfilled commands used for moving onto a previous page within the page's
+     * hierarchy
+     * @param action: the action that is added to the stack
+     */
+    public void addPreviousPage(final ActionInput action) {
+
+        if (this.previousPages.isEmpty()) {
+            this.previousPages.push(action);
+            return;
+        }
+
+        if (action.getPageId() != this.previousPages.peek().getPageId()) {
+            this.previousPages.push(action);
+        }
+    }
+
+    /**
+     * The method clears the stack of fulfilled commands used for moving onto a previous
+     * page within the application
+     */
+    public void emptyPreviousPages() {
+        while (!this.previousPages.isEmpty()) {
+            this.previousPages.pop();
+        }
+
+        this.maxPages = 0;
+    }
+}
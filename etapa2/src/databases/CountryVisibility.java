@@ -0,0 +1,102 @@
+package databases;
+
+import entities.Movie;
+
+import java.util.BitSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class CountryVisibility {
+    private final MovieCatalog catalog;
+
+    // the bits are indexed by the movies' identifiers (their catalog slots):
+    // "available" marks every movie the catalog holds, while each country
+    // has its own set of movies that are not banned there
+    private BitSet available;
+    private final ConcurrentHashMap<String, BitSet> visible;
+
+    public CountryVisibility(final MovieCatalog catalog) {
+        this.catalog = catalog;
+        this.available = new BitSet();
+        this.visible = new ConcurrentHashMap<String, BitSet>();
+    }
+
+    /**
+     * The method marks a newly added movie as visible in all the countries
+     * that do not ban it
+     * @param movie: the movie that is being added
+     */
+    public void add(final Movie movie) {
+        this.available.set(movie.getId());
+
+        for (String country : this.visible.keySet()) {
+            if (!movie.getBannedCountries().contains(country)) {
+                this.visible.get(country).set(movie.getId());
+            }
+        }
+    }
+
+    /**
+     * The method hides a removed movie from all the countries
+     * @param movie: the movie that is being removed
+     */
+    public void remove(final Movie movie) {
+        this.available.clear(movie.getId());
+
+        for (BitSet movies : this.visible.values()) {
+            movies.clear(movie.getId());
+        }
+    }
+
+    /**
+     * The method returns the movies that can be watched in a certain country
+     * (the set is built the first time the country is requested, even by several
+     * sessions at once, and then kept up to date; it must not be modified by the caller)
+     * @param country: the country that is checked
+     * @return movies: the identifiers of the visible movies
+     */
+    public BitSet getVisible(final String country) {
+        if (country == null) {
+            return this.available;
+        }
+
+        return this.visible.computeIfAbsent(country, this::build);
+    }
+
+    /**
+     * The method builds the set of movies that can be watched in a certain country
+     * @param country: the country that is checked
+     * @return movies: the identifiers of the visible movies
+     */
+    private BitSet build(final String country) {
+        BitSet movies = (BitSet) this.available.clone();
+
+        for (Movie movie : this.catalog) {
+            if (movie.getBannedCountries().contains(country)) {
+                movies.clear(movie.getId());
+            }
+        }
+
+        return movies;
+    }
+
+    /**
+     * The method rebuilds the sets once the movies' identifiers have changed
+     * (the countries that have been requested so far are kept)
+     */
+    public void reindex() {
+        this.available = new BitSet();
+        for (Movie movie : this.catalog) {
+            this.available.set(movie.getId());
+        }
+
+        this.visible.replaceAll((country, movies) -> build(country));
+    }
+
+    /**
+     * The method removes all the movies from the sets
+     */
+    public void clear() {
+        this.available.clear();
+        this.visible.clear();
+    }
+}
@@ -1,186 +1,493 @@
-package databases;
-
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import entities.Movie;
-import entities.User;
-import input.*;
-import validators.VerifyDatabaseOperations;
-import java.util.ArrayList;
-import java.util.Observable;
-
-public final class Database extends Observable {
-    private static Database instance = null;
-    private ArrayList<User> users;
-    private ArrayList<Movie> movies;
-
-    private Database() {
-        this.users = new ArrayList<User>();
-        this.movies = new ArrayList<Movie>();
-    }
-
-    /**
-     * The method completes the database with the required information
-     * @param input: the object that holds the lists of registered
-     * users and movies
-     */
-    public void construct(final Input input) {
-        for (UserInput user : input.getUsers()) {
-            this.users.add(new User(user.getCredentials()));
-        }
-        for (MovieInput movie : input.getMovies()) {
-            this.movies.add(new Movie(movie));
-        }
-
-        for (User user : this.users) {
-            addObserver(user);
-        }
-    }
-
-    /**
-     * The method creates a "See Details Page" for each movie of the database
-     * @param application: the collection of pages that the added one
-     * has access to
-     */
-    public void init(final Application application) {
-        for (Movie movie : this.movies) {
-            movie.init(instance, application);
-        }
-    }
-
-    /**
-     * The method returns the Singleton instance of the class
-     * @return instance: the Database instance that contains all the information that
-     * the implemented platform holds
-     */
-    public static Database getInstance() {
-        if (instance == null) {
-            instance = new Database();
-        }
-        return instance;
-    }
-
-    public ArrayList<User> getUsers() {
-        return this.users;
-    }
-
-    public ArrayList<Movie> getMovies() {
-        return this.movies;
-    }
-
-    /**
-     * The method inserts a newly registered user to the platform's database
-     * @param credentialsInput: the user's information that is being added
-     */
-    public void addUser(final CredentialsInput credentialsInput) {
-        this.users.add(new User(credentialsInput));
-        addObserver(this.users.get(this.users.size() - 1));
-    }
-
-    /**
-     * The method checks if a certain movie is present within the database
-     * @param movieName: the movie that is being searched for
-     * @return boolean: "true" if the movie could be found, "false" otherwise
-     */
-    private boolean containsMovie(final String movieName) {
-        for (Movie movie : this.movies) {
-            if (movie.getName().compareTo(movieName) == 0) {
-                return true;
-            }
-        }
-
-        return false;
-    }
-
-    /**
-     * The method returns a movie from the database based on its title
-     * @param movieName: the movie title that is given
-     * @return movie: the reference of the movie if it is present within the databse,
-     * null otherwise
-     */
-    public Movie findMovie(final String movieName) {
-        for (Movie movie : this.movies) {
-            if (movie.getName().compareTo(movieName) == 0) {
-                return movie;
-            }
-        }
-
-        return null;
-    }
-
-    /**
-     * The method return the position within the database at which a certain movie is found
-     * @param movieName: the movie that is searched for
-     * @return integer: the requested position (0<= position <movies.size(), if the movie
-     * is present in the list, -1 otherwise)
-     */
-    private int retrieveMovie(final String movieName) {
-        int i;
-        for (i = 0; i < this.movies.size(); i++) {
-            Movie movie = this.movies.get(i);
-
-            if (movie.getName().compareTo(movieName) == 0) {
-                return i;
-            }
-        }
-
-        return -1;
-    }
-
-    /**
-     * The method adds a new movie to the database and notifies the user about
-     * this change
-     * @param actionInput: the command that is applied, which contains the information
-     * regarding the movie
-     * @param output: in case of an error, it is added to the JSON array of outputs
-     */
-    public void addMovie(final ActionInput actionInput, final ArrayNode output) {
-
-        if (containsMovie(actionInput.getAddedMovie().getName())) {
-            output.add(VerifyDatabaseOperations.showActionError());
-            return;
-        }
-
-        this.movies.add(new Movie(actionInput.getAddedMovie()));
-
-        setChanged();
-        notifyObservers(actionInput);
-    }
-
-    /**
-     * The method removes movie to the database and notifies the user about
-     * this change
-     * @param actionInput: the command that is applied, which contains the information
-     * regarding the movie
-     * @param output: in case of an error, it is added to the JSON array of outputs
-     */
-    public void deleteMovie(final ActionInput actionInput, final ArrayNode output) {
-
-        if (!containsMovie(actionInput.getDeletedMovie())) {
-            output.add(VerifyDatabaseOperations.showActionError());
-            return;
-        }
-
-        int position = retrieveMovie(actionInput.getDeletedMovie());
-        this.movies.remove(position);
-
-        setChanged();
-        notifyObservers(actionInput);
-    }
-
-    /**
-     * The method resets the database
-     * (required action before choosing other sets of users and movies
-     * as platform's initial input)
-     */
-    public void clear() {
-        while (!this.users.isEmpty()) {
-            this.users.remove(0);
-        }
-
-        deleteObservers();
-
-        while (!this.movies.isEmpty()) {
-            this.movies.remove(0);
-        }
-    }
-}
+package databases;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import entities.Movie;
+import entities.MovieList;
+import entities.Notification;
+import entities.User;
+import input.*;
+import validators.VerifyDatabaseOperations;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public final class Database {
+    private static Database instance = null;
+    private ArrayList<User> users;
+    private UserIndex userIndex;
+    private MovieCatalog movies;
+    private CountryVisibility visibility;
+    private PostingIndex genres;
+    private PostingIndex actors;
+    private TitleIndex titles;
+    private LikesRanking rankings;
+    private SortIndex sortIndex;
+    private FilterCache filterCache;
+
+    // the attribute holds, for every genre, the users that are subscribed to it,
+    // so that adding a movie only reaches the users that should be notified
+    // (the users subscribe under the read lock, so the sets are synchronized)
+    private ConcurrentHashMap<String, Set<User>> subscribers;
+
+    // the lock shared by all the sessions that access the database: the actions
+    // that add or delete movies and the registrations run alone, under the write
+    // lock, while all the other ones run at the same time, under the read lock
+    // (the ones that change a user also hold the user's own lock, and the ones
+    // that change a movie's statistics rely on the movie and on the structures
+    // that order the movies, which guard themselves)
+    private final ReentrantReadWriteLock lock;
+
+    // the sessions that run on the database (held weakly, so that a session is
+    // forgotten once it is no longer used), whose screens may still show
+    // movies that were removed from the catalog
+    private final Set<Application> sessions;
+
+    private Database() {
+        this.users = new ArrayList<User>();
+        this.userIndex = new UserIndex();
+        this.movies = new MovieCatalog();
+        this.visibility = new CountryVisibility(this.movies);
+        this.genres = new PostingIndex();
+        this.actors = new PostingIndex();
+        this.titles = new TitleIndex();
+        this.rankings = new LikesRanking(this.movies, this.genres);
+        this.sortIndex = new SortIndex(this.movies);
+        this.filterCache = new FilterCache();
+        this.subscribers = new ConcurrentHashMap<String, Set<User>>();
+        this.lock = new ReentrantReadWriteLock();
+        this.sessions = Collections.synchronizedSet(
+                Collections.newSetFromMap(new WeakHashMap<Application, Boolean>()));
+    }
+
+    /**
+     * The method completes the database with the required information
+     * @param input: the object that holds the lists of registered
+     * users and movies
+     */
+    public void construct(final Input input) {
+        for (UserInput user : input.getUsers()) {
+            User newUser = new User(user.getCredentials());
+            this.users.add(newUser);
+            this.userIndex.add(newUser);
+        }
+        for (MovieInput movie : input.getMovies()) {
+            // like an added movie, a movie whose title is already taken is rejected
+            if (!this.movies.contains(movie.getName())) {
+                indexMovie(new Movie(movie));
+            }
+        }
+
+        for (User user : this.users) {
+            // building the set of visible movies for each country the users come from
+            this.visibility.getVisible(user.getCountry());
+        }
+    }
+
+    /**
+     * The method returns the Singleton instance of the class
+     * @return instance: the Database instance that contains all the information that
+     * the implemented platform holds
+     */
+    public static Database getInstance() {
+        if (instance == null) {
+            instance = new Database();
+        }
+        return instance;
+    }
+
+    /**
+     * The method creates a new database, independent of the Singleton instance
+     * (used for running several platforms at once, each one with its own data)
+     * @return database: the newly created, empty database
+     */
+    public static Database create() {
+        return new Database();
+    }
+
+    public ReentrantReadWriteLock getLock() {
+        return this.lock;
+    }
+
+    /**
+     * The method records a session that runs on the database
+     * @param session: the session that is recorded
+     */
+    public void addSession(final Application session) {
+        this.sessions.add(session);
+    }
+
+    public ArrayList<User> getUsers() {
+        return this.users;
+    }
+
+    public MovieCatalog getMovies() {
+        return this.movies;
+    }
+
+    /**
+     * The method sorts a set of movies from the catalog, using the presorted
+     * orderings of the catalog when the set is large enough
+     * @param sortInput: the details of the sort
+     * @param filtered: the ids of the movies that are sorted
+     * @param limit: the maximum number of movies that are returned
+     * @return ids: the ids of the first movies, in sorted order (the movies that
+     * are equal according to the sort keep the order they were added in)
+     */
+    public int[] getSortedMovies(final SortInput sortInput, final BitSet filtered,
+                                 final int limit) {
+        return this.sortIndex.sort(sortInput, filtered, limit);
+    }
+
+    public FilterCache getFilterCache() {
+        return this.filterCache;
+    }
+
+    /**
+     * The method inserts a newly registered user to the platform's database
+     * @param credentialsInput: the user's information that is being added
+     */
+    public void addUser(final CredentialsInput credentialsInput) {
+        restoreUser(new User(credentialsInput));
+    }
+
+    /**
+     * The method inserts an already built user to the platform's database
+     * (used when restoring the platform from a snapshot; the user's
+     * subscriptions are recorded separately, through subscribe())
+     * @param user: the user that is being added
+     */
+    public void restoreUser(final User user) {
+        this.users.add(user);
+        this.userIndex.add(user);
+        this.visibility.getVisible(user.getCountry());
+    }
+
+    /**
+     * The method inserts an already built movie to the platform's database,
+     * without notifying anyone (used when restoring the platform from a snapshot;
+     * the movie's statistics must be set beforehand)
+     * @param movie: the movie that is being added
+     */
+    public void restoreMovie(final Movie movie) {
+        indexMovie(movie);
+    }
+
+    /**
+     * The method returns a registered user based on its credentials
+     * @param credentialsInput: the name and password of the user that is searched for
+     * @return user: the found user or null, if it had not been registered yet
+     */
+    public User findUser(final CredentialsInput credentialsInput) {
+        return this.userIndex.find(credentialsInput.getName(), credentialsInput.getPassword());
+    }
+
+    /**
+     * The method returns a registered user based on its name
+     * @param name: the name of the user that is searched for
+     * @return user: the found user or null, if it had not been registered yet
+     */
+    public User findUser(final String name) {
+        return this.userIndex.find(name);
+    }
+
+    /**
+     * The method returns a movie from the database based on its title
+     * @param movieName: the movie title that is given
+     * @return movie: the reference of the movie if it is present within the databse,
+     * null otherwise
+     */
+    public Movie findMovie(final String movieName) {
+        return this.movies.find(movieName);
+    }
+
+    /**
+     * The method returns the movies that can be watched in a certain country
+     * @param country: the country the movies are requested for
+     * @return movies: the identifiers (catalog slots) of the visible movies,
+     * in the order they were added to the database; the set must not be modified
+     */
+    public BitSet getVisibleMovies(final String country) {
+        return this.visibility.getVisible(country);
+    }
+
+    /**
+     * The method returns the movies that belong to a certain genre
+     * @param genre: the genre that is searched for
+     * @return movies: the identifiers of the movies; the set must not be modified
+     */
+    public BitSet getMoviesWithGenre(final String genre) {
+        return this.genres.get(genre);
+    }
+
+    /**
+     * The method returns the movies a certain actor plays in
+     * @param actor: the actor that is searched for
+     * @return movies: the identifiers of the movies; the set must not be modified
+     */
+    public BitSet getMoviesWithActor(final String actor) {
+        return this.actors.get(actor);
+    }
+
+    /**
+     * The method returns the movies whose titles start with a certain prefix
+     * @param prefix: the searched prefix
+     * @return ids: the identifiers of the movies, in the order they were
+     * added to the database
+     */
+    public int[] getMoviesStartingWith(final String prefix) {
+        return this.titles.startingWith(prefix);
+    }
+
+    /**
+     * The method returns the movies of a certain genre, ordered by their likes
+     * @param genre: the genre that is searched for
+     * @return movies: the requested movies, the most liked first (the movies
+     * with the same number of likes keep the order they were added in);
+     * the list cannot be modified
+     */
+    public List<Movie> getMoviesRankedByLikes(final String genre) {
+        return this.rankings.get(genre);
+    }
+
+    /**
+     * The method checks if a movie is part of the catalog (a movie deleted while
+     * a session showed it may still be acted upon)
+     * @param movie: the movie that is checked
+     * @return boolean: "true" if the catalog holds the movie, "false" otherwise
+     */
+    private boolean isCatalogued(final Movie movie) {
+        return this.movies.get(movie.getId()) == movie;
+    }
+
+    /**
+     * The method records a user's like for a movie
+     * @param user: the user that likes the movie
+     * @param movie: the liked movie
+     */
+    public void likeMovie(final User user, final Movie movie) {
+        movie.addLike();
+
+        // the rankings of the movie's genres are sorted again once they are requested
+        // (a movie that was deleted while it was shown only counts the like)
+        if (isCatalogued(movie)) {
+            this.rankings.invalidate(movie);
+        }
+
+        user.addLikedMovie(movie);
+    }
+
+    /**
+     * The method records a rating given to a movie
+     * @param movie: the rated movie
+     * @param rate: the given rating
+     * @param recalculate: "true" if the user had already rated the movie
+     */
+    public void rateMovie(final Movie movie, final int rate, final boolean recalculate) {
+        // a movie that was deleted while it was shown only counts the rating
+        if (!isCatalogued(movie)) {
+            movie.addRating(rate, recalculate);
+            return;
+        }
+
+        // the movie changes its position within the orderings sorted by rating, and
+        // the filters sorted by rating are only affected if the rating changes
+        if (this.sortIndex.rate(movie, rate, recalculate)) {
+            this.filterCache.invalidateRating(movie);
+        }
+    }
+
+    /**
+     * The method inserts a movie in the catalog and in all the structures
+     * used for searching through it
+     * @param movie: the movie that is being added
+     */
+    private void indexMovie(final Movie movie) {
+        int id = this.movies.add(movie);
+
+        this.visibility.add(movie);
+        this.genres.add(id, movie.getGenres());
+        this.actors.add(id, movie.getActors());
+        this.titles.add(movie.getName(), id);
+        this.rankings.invalidate(movie);
+        this.sortIndex.add(movie);
+        this.filterCache.invalidate(movie);
+    }
+
+    /**
+     * The method removes a movie (already taken out of the catalog) from all
+     * the structures used for searching through the catalog
+     * @param movie: the movie that is being removed
+     */
+    private void unindexMovie(final Movie movie) {
+        this.visibility.remove(movie);
+        this.genres.remove(movie.getId(), movie.getGenres());
+        this.actors.remove(movie.getId(), movie.getActors());
+        this.titles.remove(movie.getName(), movie.getId());
+        this.rankings.invalidate(movie);
+        this.sortIndex.remove(movie);
+        this.filterCache.invalidate(movie);
+    }
+
+    /**
+     * The method subscribes a user to a given genre
+     * @param user: the user that subscribes
+     * @param genre: the genre the user will be notified about
+     */
+    public void subscribe(final User user, final String genre) {
+        user.addSubscription(genre);
+        this.subscribers.computeIfAbsent(genre,
+                key -> Collections.synchronizedSet(new LinkedHashSet<User>())).add(user);
+    }
+
+    /**
+     * The method notifies the users that are subscribed to at least one of the genres
+     * of a newly added movie (if the movie can be watched in their country)
+     * @param movie: the added movie
+     */
+    private void notifySubscribers(final Movie movie) {
+        LinkedHashSet<User> notifiedUsers = new LinkedHashSet<User>();
+
+        for (String genre : movie.getGenres()) {
+            Set<User> genreSubscribers = this.subscribers.get(genre);
+            if (genreSubscribers != null) {
+                notifiedUsers.addAll(genreSubscribers);
+            }
+        }
+
+        for (User user : notifiedUsers) {
+            if (!movie.getBannedCountries().contains(user.getCountry())) {
+                user.addNotification(new Notification(movie.getName(), "ADD"));
+            }
+        }
+    }
+
+    /**
+     * The method adds a new movie to the database and notifies the users about
+     * this change
+     * @param actionInput: the command that is applied, which contains the information
+     * regarding the movie
+     * @param output: in case of an error, it is added to the JSON array of outputs
+     */
+    public void addMovie(final ActionInput actionInput, final ArrayNode output) {
+
+        if (this.movies.contains(actionInput.getAddedMovie().getName())) {
+            output.add(VerifyDatabaseOperations.showActionError());
+            return;
+        }
+
+        Movie newMovie = new Movie(actionInput.getAddedMovie());
+        indexMovie(newMovie);
+
+        notifySubscribers(newMovie);
+    }
+
+    /**
+     * The method removes a movie from the database and from the lists of the users
+     * that hold it
+     * @param actionInput: the command that is applied, which contains the information
+     * regarding the movie
+     * @param output: in case of an error, it is added to the JSON array of outputs
+     */
+    public void deleteMovie(final ActionInput actionInput, final ArrayNode output) {
+
+        Movie deletedMovie = this.movies.remove(actionInput.getDeletedMovie());
+
+        if (deletedMovie == null) {
+            output.add(VerifyDatabaseOperations.showActionError());
+            return;
+        }
+
+        unindexMovie(deletedMovie);
+
+        // only the users that hold the movie in their lists are visited
+        deletedMovie.releaseHolders();
+
+        if (this.movies.needsCompaction()) {
+            compactMovies();
+        }
+    }
+
+    /**
+     * The method compacts the catalog and rebuilds the structures indexed by the
+     * movies' identifiers, so that they only grow with the number of movies the
+     * platform currently holds (the movies keep the order they were added in)
+     */
+    private void compactMovies() {
+        ArrayList<MovieList> lists = new ArrayList<MovieList>();
+        LinkedHashSet<Movie> detached = new LinkedHashSet<Movie>();
+
+        for (User user : this.users) {
+            lists.add(user.getPurchasedMovies());
+            lists.add(user.getWatchedMovies());
+            lists.add(user.getLikedMovies());
+            lists.add(user.getRatedMovies());
+        }
+
+        // the lists drop the entries of their removed movies while the identifiers
+        // still match their memberships, and the removed movies that are still
+        // referenced get identifiers of their own
+        for (MovieList list : lists) {
+            list.compact();
+            for (Movie movie : list) {
+                if (this.movies.get(movie.getId()) != movie) {
+                    detached.add(movie);
+                }
+            }
+        }
+        synchronized (this.sessions) {
+            for (Application session : this.sessions) {
+                for (Movie movie : session.getCurrentMovieList()) {
+                    if (this.movies.get(movie.getId()) != movie) {
+                        detached.add(movie);
+                    }
+                }
+            }
+        }
+
+        this.movies.compact(detached);
+        for (MovieList list : lists) {
+            list.reindex();
+        }
+
+        this.visibility.reindex();
+        this.genres.clear();
+        this.actors.clear();
+        this.titles.clear();
+        this.rankings.clear();
+        this.sortIndex.clear();
+        this.filterCache.clear();
+        for (Movie movie : this.movies) {
+            this.genres.add(movie.getId(), movie.getGenres());
+            this.actors.add(movie.getId(), movie.getActors());
+            this.titles.add(movie.getName(), movie.getId());
+        }
+    }
+
+    /**
+     * The method resets the database
+     * (required action before choosing other sets of users and movies
+     * as platform's initial input)
+     */
+    public void clear() {
+        this.users.clear();
+        this.userIndex.clear();
+        this.subscribers.clear();
+        // the sessions of the previous input register again once they are reset
+        this.sessions.clear();
+
+        this.movies.clear();
+        this.visibility.clear();
+        this.genres.clear();
+        this.actors.clear();
+        this.titles.clear();
+        this.rankings.clear();
+        this.sortIndex.clear();
+        this.filterCache.clear();
+    }
+}
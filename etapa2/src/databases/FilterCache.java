@@ -0,0 +1,169 @@
+package databases;
+
+import entities.Movie;
+import input.ContainsInput;
+import input.FilterInput;
+import input.SortInput;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+public final class FilterCache {
+    private static final int MAX_ENTRIES = 256;
+    private static final int MAX_CACHED_MOVIES = 1 << 20;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    // the attribute maps every filter (along with the country of the users that
+    // applied it) to the ids of the resulting movies, in the order they are shown;
+    // the map is kept in access order, so that the least recently used results
+    // are the first to be evicted
+    private final LinkedHashMap<Key, int[]> results;
+    private int cachedMovies;
+
+    // the number of invalidations so far: a movie may be rated while another session
+    // is filtering, so a result is only stored if nothing was invalidated since
+    // the session started computing it
+    private long generation;
+
+    /**
+     * The normalized form of a filter: the order of the genres and actors and
+     * their duplicates do not change the result, so they are not part of the key
+     */
+    private record Key(String country, boolean hasContains, List<String> genres,
+                       List<String> actors, boolean hasSort, String rating, String duration) {
+
+        /**
+         * The method checks if a movie passes the filter, in which case a change
+         * of the movie may change the result of the filter
+         * @param movie: the movie that is checked
+         * @return boolean: "true" if the movie is part of the result, "false" otherwise
+         */
+        boolean matches(final Movie movie) {
+            if (movie.getBannedCountries().contains(this.country)) {
+                return false;
+            }
+            if (!this.hasContains) {
+                return true;
+            }
+            if (this.genres == null && this.actors == null) {
+                return false;
+            }
+
+            return (this.genres == null || movie.getGenres().containsAll(this.genres))
+                    && (this.actors == null || movie.getActors().containsAll(this.actors));
+        }
+    }
+
+    public FilterCache() {
+        this.results = new LinkedHashMap<Key, int[]>(MAX_ENTRIES, LOAD_FACTOR, true);
+    }
+
+    private static List<String> normalize(final List<String> values) {
+        return values == null ? null : new ArrayList<String>(new TreeSet<String>(values));
+    }
+
+    private static Key createKey(final String country, final FilterInput filters) {
+        ContainsInput contains = filters.getContains();
+        SortInput sort = filters.getSort();
+
+        return new Key(country, contains != null,
+                contains == null ? null : normalize(contains.getGenre()),
+                contains == null ? null : normalize(contains.getActors()),
+                sort != null, sort == null ? null : sort.getRating(),
+                sort == null ? null : sort.getDuration());
+    }
+
+    /**
+     * The method returns the cached result of a filter
+     * @param country: the country of the user that applies the filter
+     * @param filters: the details of the filter
+     * @return ids: the ids of the resulting movies, in the order they are shown,
+     * or null if the result is not cached (the array must not be modified)
+     */
+    public synchronized int[] get(final String country, final FilterInput filters) {
+        return this.results.get(createKey(country, filters));
+    }
+
+    /**
+     * The method returns the current generation of the cache, which must be read
+     * before computing a result that is stored afterwards
+     * @return generation: the number of invalidations so far
+     */
+    public synchronized long getGeneration() {
+        return this.generation;
+    }
+
+    /**
+     * The method stores the result of a filter, evicting the least recently used
+     * results if the cache grows beyond its bounds
+     * @param country: the country of the user that applied the filter
+     * @param filters: the details of the filter
+     * @param ids: the ids of the resulting movies, in the order they are shown
+     * @param computedGeneration: the generation read before computing the result
+     * (if the cache was invalidated since, the result is not stored, as it may
+     * already be stale)
+     */
+    public synchronized void put(final String country, final FilterInput filters,
+                                 final int[] ids, final long computedGeneration) {
+        if (computedGeneration != this.generation) {
+            return;
+        }
+
+        int[] previous = this.results.put(createKey(country, filters), ids);
+        if (previous != null) {
+            this.cachedMovies -= previous.length;
+        }
+        this.cachedMovies += ids.length;
+
+        Iterator<int[]> eldest = this.results.values().iterator();
+        while (this.results.size() > MAX_ENTRIES || this.cachedMovies > MAX_CACHED_MOVIES) {
+            this.cachedMovies -= eldest.next().length;
+            eldest.remove();
+        }
+    }
+
+    /**
+     * The method drops the results that a newly added or deleted movie is part of
+     * @param movie: the added or deleted movie
+     */
+    public synchronized void invalidate(final Movie movie) {
+        invalidate(movie, false);
+    }
+
+    /**
+     * The method drops the results that are sorted by rating and that a movie
+     * whose rating changed is part of (the likes do not take part in the sorting,
+     * so they do not change any result)
+     * @param movie: the rated movie
+     */
+    public synchronized void invalidateRating(final Movie movie) {
+        invalidate(movie, true);
+    }
+
+    private void invalidate(final Movie movie, final boolean sortedByRating) {
+        this.generation++;
+        Iterator<Map.Entry<Key, int[]>> entries = this.results.entrySet().iterator();
+
+        while (entries.hasNext()) {
+            Map.Entry<Key, int[]> entry = entries.next();
+            Key key = entry.getKey();
+
+            if ((!sortedByRating || key.rating() != null) && key.matches(movie)) {
+                this.cachedMovies -= entry.getValue().length;
+                entries.remove();
+            }
+        }
+    }
+
+    /**
+     * The method removes all the cached results
+     */
+    public synchronized void clear() {
+        this.generation++;
+        this.results.clear();
+        this.cachedMovies = 0;
+    }
+}
@@ -0,0 +1,79 @@
+package databases;
+
+import entities.Movie;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class LikesRanking {
+    private final MovieCatalog movies;
+    private final PostingIndex genres;
+
+    // the attribute maps every genre to its movies, ordered decreasingly by the
+    // number of likes (the movies with the same number of likes keep the order
+    // they were added to the database in); a ranking is only sorted once it is
+    // requested and it is dropped whenever one of its movies changes, so that
+    // liking a movie does not have to lock the rankings of its genres
+    private final ConcurrentHashMap<String, List<Movie>> rankings;
+
+    public LikesRanking(final MovieCatalog movies, final PostingIndex genres) {
+        this.movies = movies;
+        this.genres = genres;
+        this.rankings = new ConcurrentHashMap<String, List<Movie>>();
+    }
+
+    /**
+     * The method sorts the movies of a genre by their likes
+     * @param genre: the genre that is sorted
+     * @return movies: the requested ranking
+     */
+    private List<Movie> rank(final String genre) {
+        BitSet ids = this.genres.get(genre);
+        long[] keys = new long[ids.cardinality()];
+        int position = 0;
+        int id;
+
+        // every key holds the likes of a movie (in decreasing order) followed by
+        // its id; the likes are only read once, so the ones given meanwhile by
+        // other sessions cannot break the sort
+        for (id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            long likes = this.movies.get(id).getTotalLikes();
+            keys[position++] = (Integer.MAX_VALUE - likes) << Integer.SIZE | id;
+        }
+        Arrays.sort(keys);
+
+        Movie[] ranking = new Movie[keys.length];
+        for (position = 0; position < keys.length; position++) {
+            ranking[position] = this.movies.get((int) keys[position]);
+        }
+        return List.of(ranking);
+    }
+
+    /**
+     * The method drops the rankings of a movie's genres, once the movie was added,
+     * removed or liked (it must be called after the change)
+     * @param movie: the movie that changed
+     */
+    public void invalidate(final Movie movie) {
+        for (String genre : movie.getGenres()) {
+            this.rankings.remove(genre);
+        }
+    }
+
+    /**
+     * The method returns the movies of a certain genre, ordered by their likes
+     * @param genre: the genre that is searched for
+     * @return movies: the requested ranking (the list cannot be modified)
+     */
+    public List<Movie> get(final String genre) {
+        return this.rankings.computeIfAbsent(genre, this::rank);
+    }
+
+    /**
+     * The method removes all the rankings
+     */
+    public void clear() {
+        this.rankings.clear();
+    }
+}
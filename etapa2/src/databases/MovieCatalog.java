@@ -0,0 +1,239 @@
+package databases;
+
+import entities.Movie;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public final class MovieCatalog implements Iterable<Movie> {
+    // the number of empty slots the catalog tolerates regardless of its size
+    private static final int MIN_EMPTY_SLOTS = 64;
+
+    // every movie receives the position (slot) at which it was inserted;
+    // slots are never reused, so iterating over them in increasing order
+    // yields the movies in the order they were added to the platform
+    // (removed movies leave an empty slot behind instead of shifting the others,
+    // until they outnumber the movies and the catalog is compacted)
+    private ArrayList<Movie> slots;
+
+    // the attribute resolves a movie's title to the slot that holds it
+    // (the titles are unique within the catalog)
+    private final HashMap<String, Integer> positions;
+    private int size;
+
+    // the number of empty slots a compaction would drop (the slots of the removed
+    // movies that are still referenced are kept, so they are not counted)
+    private int reclaimable;
+
+    public MovieCatalog() {
+        this.slots = new ArrayList<Movie>();
+        this.positions = new HashMap<String, Integer>();
+        this.size = 0;
+        this.reclaimable = 0;
+    }
+
+    /**
+     * The method appends a movie to the catalog and assigns it its identifier
+     * @param movie: the movie that is being added
+     * @return id: the slot the movie occupies within the catalog
+     */
+    public int add(final Movie movie) {
+        int id = this.slots.size();
+
+        movie.setId(id);
+        this.slots.add(movie);
+        this.positions.put(movie.getName(), id);
+        this.size += 1;
+
+        return id;
+    }
+
+    /**
+     * The method removes a movie from the catalog based on its title
+     * @param movieName: the title of the movie that is being removed
+     * @return movie: the removed movie or null, if the catalog did not contain it
+     */
+    public Movie remove(final String movieName) {
+        Integer id = this.positions.remove(movieName);
+
+        if (id == null) {
+            return null;
+        }
+
+        Movie movie = this.slots.get(id);
+        this.slots.set(id, null);
+        this.size -= 1;
+        this.reclaimable += 1;
+
+        return movie;
+    }
+
+    /**
+     * The method checks if a certain movie is present within the catalog
+     * @param movieName: the movie that is being searched for
+     * @return boolean: "true" if the movie could be found, "false" otherwise
+     */
+    public boolean contains(final String movieName) {
+        return this.positions.containsKey(movieName);
+    }
+
+    /**
+     * The method returns a movie from the catalog based on its title
+     * @param movieName: the movie title that is given
+     * @return movie: the reference of the movie if it is present within the catalog,
+     * null otherwise
+     */
+    public Movie find(final String movieName) {
+        Integer id = this.positions.get(movieName);
+
+        if (id == null) {
+            return null;
+        }
+
+        return this.slots.get(id);
+    }
+
+    /**
+     * The method returns the movie found at a given slot
+     * @param id: the identifier of the movie
+     * @return movie: the movie or null, if the slot is empty
+     */
+    public Movie get(final int id) {
+        if (id < 0 || id >= this.slots.size()) {
+            return null;
+        }
+
+        return this.slots.get(id);
+    }
+
+    /**
+     * The method returns the most recently added movie that is still present
+     * within the catalog
+     * @return movie: the requested movie or null, if the catalog is empty
+     */
+    public Movie getLast() {
+        int i;
+        for (i = this.slots.size() - 1; i >= 0; i--) {
+            if (this.slots.get(i) != null) {
+                return this.slots.get(i);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * The method returns the number of movies the catalog currently holds
+     * @return size: the number of movies
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * The method returns the number of slots that have ever been assigned
+     * (an upper bound for the identifiers of the contained movies)
+     * @return capacity: the number of slots
+     */
+    public int capacity() {
+        return this.slots.size();
+    }
+
+    /**
+     * The method checks if the empty slots a compaction would drop outnumber
+     * the contained movies, so that the catalog should be compacted
+     * @return boolean: "true" if the catalog should be compacted, "false" otherwise
+     */
+    public boolean needsCompaction() {
+        return this.reclaimable > Math.max(this.size, MIN_EMPTY_SLOTS);
+    }
+
+    /**
+     * The method drops the empty slots: the contained movies are given the first
+     * identifiers, in the order they were added, while the given removed movies
+     * are given empty slots after them, so that no two movies share an identifier
+     * @param detached: the removed movies that are still referenced (by the users'
+     * lists or by the sessions' screens)
+     */
+    public void compact(final Collection<Movie> detached) {
+        ArrayList<Movie> movies = new ArrayList<Movie>(this.size + detached.size());
+
+        for (Movie movie : this) {
+            movie.setId(movies.size());
+            this.positions.put(movie.getName(), movie.getId());
+            movies.add(movie);
+        }
+        this.slots = movies;
+        this.reclaimable = 0;
+
+        for (Movie movie : detached) {
+            detach(movie);
+        }
+    }
+
+    /**
+     * The method gives a movie that is not part of the catalog an empty slot
+     * of its own, so that its identifier does not match any other movie's
+     * @param movie: the removed movie
+     */
+    public void detach(final Movie movie) {
+        movie.setId(this.slots.size());
+        this.slots.add(null);
+    }
+
+    /**
+     * The method checks if the catalog contains any movies
+     * @return boolean: "true" if the catalog is empty, "false" otherwise
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * The method removes all the movies from the catalog
+     */
+    public void clear() {
+        this.slots.clear();
+        this.positions.clear();
+        this.size = 0;
+        this.reclaimable = 0;
+    }
+
+    /**
+     * The method iterates through the contained movies in the order they were added
+     * @return iterator: the requested iterator
+     */
+    @Override
+    public Iterator<Movie> iterator() {
+        return new Iterator<Movie>() {
+            private int next = advance(0);
+
+            private int advance(final int from) {
+                int i = from;
+                while (i < slots.size() && slots.get(i) == null) {
+                    i++;
+                }
+                return i;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return this.next < slots.size();
+            }
+
+            @Override
+            public Movie next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                Movie movie = slots.get(this.next);
+                this.next = advance(this.next + 1);
+                return movie;
+            }
+        };
+    }
+}
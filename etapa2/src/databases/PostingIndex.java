@@ -0,0 +1,62 @@
+package databases;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+
+public final class PostingIndex {
+    private static final BitSet EMPTY = new BitSet();
+
+    // the attribute maps every key (a genre, an actor) to the identifiers
+    // (catalog slots) of the movies that are described by it
+    private final HashMap<String, BitSet> postings;
+
+    public PostingIndex() {
+        this.postings = new HashMap<String, BitSet>();
+    }
+
+    /**
+     * The method adds a movie to the postings of all the given keys
+     * @param id: the identifier of the movie
+     * @param keys: the keys that describe the movie
+     */
+    public void add(final int id, final List<String> keys) {
+        for (String key : keys) {
+            this.postings.computeIfAbsent(key, k -> new BitSet()).set(id);
+        }
+    }
+
+    /**
+     * The method removes a movie from the postings of all the given keys
+     * @param id: the identifier of the movie
+     * @param keys: the keys that describe the movie
+     */
+    public void remove(final int id, final List<String> keys) {
+        for (String key : keys) {
+            BitSet movies = this.postings.get(key);
+
+            if (movies != null) {
+                movies.clear(id);
+                if (movies.isEmpty()) {
+                    this.postings.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * The method returns the movies that are described by a certain key
+     * @param key: the key that is searched for
+     * @return movies: the identifiers of the movies (the set must not be modified)
+     */
+    public BitSet get(final String key) {
+        return this.postings.getOrDefault(key, EMPTY);
+    }
+
+    /**
+     * The method removes all the postings
+     */
+    public void clear() {
+        this.postings.clear();
+    }
+}
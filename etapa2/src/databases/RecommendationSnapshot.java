@@ -0,0 +1,140 @@
+package databases;
+
+import entities.Genre;
+import entities.Movie;
+import entities.User;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+
+public final class RecommendationSnapshot {
+
+    // the snapshot copies everything a recommendation reads (the users' top genres
+    // and watched movies, the movies visible in their countries and the genres'
+    // rankings by likes), so that it can be read by several threads at once while
+    // the database itself keeps changing; the rankings hold the movies' identifiers
+    // and titles rather than the movies, whose identifiers change when the catalog
+    // is compacted
+    private final ArrayList<User> users;
+    private final ArrayList<List<String>> genres;
+    private final ArrayList<BitSet> visible;
+    private final ArrayList<BitSet> watched;
+    private final HashMap<String, Ranking> rankings;
+
+    /**
+     * The movies of a genre, ordered by their likes: the identifiers they had
+     * when the snapshot was taken and their titles, at the same positions
+     */
+    public record Ranking(int[] ids, String[] names) {
+        public static final Ranking EMPTY = new Ranking(new int[0], new String[0]);
+    }
+
+    /**
+     * The constructor copies what the recommendations of the given users read
+     * (the caller must hold one of the database's locks meanwhile, while every user
+     * is locked as it is copied, since his other sessions may be changing him)
+     * @param database: the database that holds the movies
+     * @param users: the users the recommendations are computed for
+     */
+    public RecommendationSnapshot(final Database database, final List<User> users) {
+        HashMap<String, BitSet> countries = new HashMap<String, BitSet>();
+
+        this.users = new ArrayList<User>(users);
+        this.genres = new ArrayList<List<String>>(users.size());
+        this.visible = new ArrayList<BitSet>(users.size());
+        this.watched = new ArrayList<BitSet>(users.size());
+        this.rankings = new HashMap<String, Ranking>();
+
+        for (User user : users) {
+            ArrayList<String> topGenres = new ArrayList<String>();
+
+            user.getLock().lock();
+            try {
+                for (Genre genre : user.getTopGenres()) {
+                    topGenres.add(genre.getGenre());
+                }
+                this.watched.add((BitSet) user.getWatchedMovies().getIds().clone());
+            } finally {
+                user.getLock().unlock();
+            }
+
+            for (String genre : topGenres) {
+                this.rankings.computeIfAbsent(genre,
+                        key -> copyRanking(database.getMoviesRankedByLikes(key)));
+            }
+            this.genres.add(topGenres);
+            this.visible.add(countries.computeIfAbsent(user.getCountry(),
+                    key -> (BitSet) database.getVisibleMovies(key).clone()));
+        }
+    }
+
+    private static Ranking copyRanking(final Collection<Movie> movies) {
+        int[] ids = new int[movies.size()];
+        String[] names = new String[movies.size()];
+        int position = 0;
+
+        for (Movie movie : movies) {
+            ids[position] = movie.getId();
+            names[position] = movie.getName();
+            position++;
+        }
+
+        return new Ranking(ids, names);
+    }
+
+    /**
+     * The method returns the number of users the snapshot was taken for
+     * @return size: the number of users
+     */
+    public int size() {
+        return this.users.size();
+    }
+
+    /**
+     * The method returns one of the users the snapshot was taken for
+     * @param index: the position of the user
+     * @return user: the requested user
+     */
+    public User getUser(final int index) {
+        return this.users.get(index);
+    }
+
+    /**
+     * The method returns the top of preferred genres of a user
+     * @param index: the position of the user
+     * @return genres: the genres, the most liked first
+     */
+    public List<String> getGenres(final int index) {
+        return this.genres.get(index);
+    }
+
+    /**
+     * The method returns the movies that can be watched in a user's country
+     * @param index: the position of the user
+     * @return movies: the identifiers of the visible movies
+     */
+    public BitSet getVisible(final int index) {
+        return this.visible.get(index);
+    }
+
+    /**
+     * The method returns the movies a user has watched
+     * @param index: the position of the user
+     * @return movies: the identifiers of the watched movies
+     */
+    public BitSet getWatched(final int index) {
+        return this.watched.get(index);
+    }
+
+    /**
+     * The method returns the movies of a genre, ordered by their likes
+     * @param genre: the genre that is searched for
+     * @return ranking: the identifiers and the titles of the requested movies,
+     * the most liked first
+     */
+    public Ranking getRanking(final String genre) {
+        return this.rankings.getOrDefault(genre, Ranking.EMPTY);
+    }
+}
@@ -0,0 +1,491 @@
+package databases;
+
+import entities.Movie;
+import entities.MovieList;
+import entities.Notification;
+import entities.Rating;
+import entities.User;
+import input.ActionInput;
+import input.CredentialsInput;
+import pages.PageCreator;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Saves the state of a database (its movies, along with their statistics, and its users,
+ * along with their resources, lists, notifications and subscriptions) to a binary file
+ * and restores it, without going through the JSON input again.
+ *
+ * The file starts with a header (a magic number and the version of the format), followed
+ * by the movies, in the order of the catalog, and by the users, in the order they were
+ * registered. The users' lists refer to the movies by their position within the file;
+ * the titles and the names are written as they are, while the strings that repeat
+ * across the whole platform (the genres, the actors, the countries, ...) are written
+ * once and then referred to by their position within the table of the strings met
+ * so far. The file is written through a channel, in blocks, and
+ * read back by mapping it in memory; the searching structures are rebuilt while
+ * the movies are restored.
+ *
+ * A snapshot may also hold the state of a browsing session (its user, the page it is on,
+ * the movies shown on its screen and its navigation history), so that the platform
+ * resumes exactly where it stopped; the shown movies that are no longer part of
+ * the catalog are written in full.
+ */
+public final class Snapshot {
+    private static final int MAGIC = 0x50545632;
+    private static final int VERSION = 2;
+    private static final int BLOCK_SIZE = 1 << 16;
+    private static final int NULL_STRING = -1;
+    private static final int NONE = -1;
+
+    // the writer's state: the block being filled, the channel it is flushed to,
+    // the strings written so far and the positions of the written movies
+    private final ByteBuffer block;
+    private final FileChannel channel;
+    private final HashMap<String, Integer> strings;
+    private int[] positions;
+
+    private Snapshot(final FileChannel channel) {
+        this.block = ByteBuffer.allocateDirect(BLOCK_SIZE);
+        this.channel = channel;
+        this.strings = new HashMap<String, Integer>();
+    }
+
+    /**
+     * The method saves the state of a database to a file (the other sessions wait
+     * for it, since most of their actions change the users or the movies' statistics
+     * under the database's read lock)
+     * @param database: the database that is saved
+     * @param file: the file the snapshot is written to (it is replaced, if it exists)
+     * @throws IOException: if the file cannot be written
+     */
+    public static void write(final Database database, final Path file) throws IOException {
+        write(database, null, file);
+    }
+
+    /**
+     * The method saves the state of a database, along with the state of one of its
+     * sessions, to a file (the session must not execute any action meanwhile)
+     * @param database: the database that is saved
+     * @param application: the session that is saved (null, if there is none)
+     * @param file: the file the snapshot is written to (it is replaced, if it exists)
+     * @throws IOException: if the file cannot be written
+     */
+    public static void write(final Database database, final Application application,
+                             final Path file) throws IOException {
+        Lock lock = database.getLock().writeLock();
+
+        lock.lock();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            Snapshot snapshot = new Snapshot(channel);
+            snapshot.writeDatabase(database);
+            snapshot.writeSession(database, application);
+            snapshot.flush();
+            channel.force(false);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The method replaces the state of a database with the one saved in a file
+     * @param database: the database that is restored (it is cleared beforehand)
+     * @param file: the file the snapshot was written to
+     * @throws IOException: if the file cannot be read or it is not a valid snapshot
+     */
+    public static void load(final Database database, final Path file) throws IOException {
+        load(database, null, file);
+    }
+
+    /**
+     * The method replaces the state of a database, along with the state of one of
+     * its sessions, with the one saved in a file
+     * @param database: the database that is restored (it is cleared beforehand)
+     * @param application: the session that is restored (null, if the saved session
+     * should be ignored); if the snapshot does not hold a session, it is only reset
+     * @param file: the file the snapshot was written to
+     * @throws IOException: if the file cannot be read or it is not a valid snapshot
+     */
+    public static void load(final Database database, final Application application,
+                            final Path file) throws IOException {
+        Lock lock = database.getLock().writeLock();
+
+        lock.lock();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("The snapshot is too large to be mapped: " + file);
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    channel.size());
+            readDatabase(database, application, buffer);
+        } catch (RuntimeException exception) {
+            // a truncated or corrupted file ends up in reading past its end or in
+            // references to movies and strings that were never written
+            database.clear();
+            throw new IOException("The snapshot is truncated or corrupted: " + file, exception);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void writeDatabase(final Database database) throws IOException {
+        writeInt(MAGIC);
+        writeInt(VERSION);
+
+        // the movies are written without the empty slots of the catalog
+        int position = 0;
+        this.positions = new int[database.getMovies().capacity()];
+        writeInt(database.getMovies().size());
+        for (Movie movie : database.getMovies()) {
+            this.positions[movie.getId()] = position++;
+            writeMovie(movie);
+        }
+
+        writeInt(database.getUsers().size());
+        for (User user : database.getUsers()) {
+            writeText(user.getName());
+            writeText(user.getPassword());
+            writeString(user.getAccountType());
+            writeString(user.getCountry());
+            writeInt(user.getTotalBalance());
+            writeInt(user.getTotalTokens());
+            writeInt(user.getRemainingFreeMovies());
+
+            writeMovies(user.getPurchasedMovies());
+            writeMovies(user.getWatchedMovies());
+            writeMovies(user.getLikedMovies());
+            writeMovies(user.getRatedMovies());
+
+            writeInt(user.getNotifications().size());
+            for (Notification notification : user.getNotifications()) {
+                writeText(notification.getMovieName());
+                writeString(notification.getMessage());
+            }
+            writeStrings(user.getSubscriptions());
+        }
+    }
+
+    private void writeMovie(final Movie movie) throws IOException {
+        writeText(movie.getName());
+        writeInt(movie.getYear());
+        writeInt(movie.getDuration());
+        writeStrings(movie.getGenres());
+        writeStrings(movie.getActors());
+        writeStrings(movie.getBannedCountries());
+
+        Rating ratings = movie.getRatings();
+        writeInt(movie.getTotalLikes());
+        writeInt(movie.getTotalViews());
+        writeInt(ratings.getTotalRatings());
+        writeInt(ratings.getAllRatings());
+        writeInt(ratings.getNoRatings());
+    }
+
+    private static Movie readMovie(final ByteBuffer buffer, final List<String> strings) {
+        String name = readText(buffer);
+        int year = buffer.getInt();
+        int duration = buffer.getInt();
+        ArrayList<String> genres = readStrings(buffer, strings);
+        ArrayList<String> actors = readStrings(buffer, strings);
+        Movie movie = new Movie(name, year, duration, genres, actors,
+                readStrings(buffer, strings));
+
+        int likes = buffer.getInt();
+        int views = buffer.getInt();
+        int totalRatings = buffer.getInt();
+        int allRatings = buffer.getInt();
+        movie.restoreStatistics(likes, views,
+                Rating.of(totalRatings, allRatings, buffer.getInt()));
+        return movie;
+    }
+
+    /**
+     * The method writes the state of a session: whether a user is logged in, the
+     * user (as his position within the database, none for the default user), the
+     * type of the current page, the shown movies (as their positions within the file,
+     * the movies that were deleted from the catalog meanwhile being written in full),
+     * the greatest depth of the navigation and the "change page" actions of the history
+     * @param database: the database the session runs on
+     * @param application: the session (null, if the snapshot does not hold one)
+     */
+    private void writeSession(final Database database, final Application application)
+            throws IOException {
+        if (application == null) {
+            writeInt(0);
+            return;
+        }
+
+        writeInt(1);
+        writeInt(application.getHasLoggedInUser() ? 1 : 0);
+        writeInt(database.getUsers().indexOf(application.getCurrentUser()));
+        PageCreator.PageType pageType = application.getCurrentPageType();
+        writeInt(pageType == null ? NONE : pageType.ordinal());
+
+        writeInt(application.getCurrentMovieList().size());
+        for (Movie movie : application.getCurrentMovieList()) {
+            if (database.getMovies().get(movie.getId()) == movie) {
+                writeInt(this.positions[movie.getId()]);
+            } else {
+                writeInt(NONE);
+                writeMovie(movie);
+            }
+        }
+
+        writeInt(application.getMaxPages());
+        writeInt(application.getPreviousPages().size());
+        for (ActionInput action : application.getPreviousPages()) {
+            byte[] bytes = ActionCodec.encode(action);
+            writeInt(bytes.length);
+            writeBytes(bytes);
+        }
+    }
+
+    private static void readSession(final Database database, final Application application,
+                                    final ByteBuffer buffer, final List<String> strings,
+                                    final List<Movie> movies) {
+        application.init(database);
+        if (buffer.getInt() == 0) {
+            return;
+        }
+
+        boolean hasLoggedInUser = buffer.getInt() != 0;
+        int user = buffer.getInt();
+        int pageType = buffer.getInt();
+        // the default user (the one navigating before a login) is not registered
+        application.setCurrentUser(user == NONE ? new User()
+                : database.getUsers().get(user));
+        if (pageType != NONE) {
+            application.setCurrentPage(application.getPage(
+                    PageCreator.PageType.values()[pageType]));
+        }
+        if (hasLoggedInUser) {
+            application.userIsLoggedIn();
+        }
+
+        int count = buffer.getInt();
+        while (count-- > 0) {
+            int position = buffer.getInt();
+            if (position == NONE) {
+                // a movie that was removed from the catalog keeps an identifier of its own
+                Movie movie = readMovie(buffer, strings);
+                database.getMovies().detach(movie);
+                application.addCurrentMovie(movie);
+            } else {
+                application.addCurrentMovie(movies.get(position));
+            }
+        }
+
+        int maxPages = buffer.getInt();
+        count = buffer.getInt();
+        while (count-- > 0) {
+            int length = buffer.getInt();
+            int end = buffer.position() + length;
+            application.getPreviousPages().push(ActionCodec.decode(
+                    buffer.slice(buffer.position(), length)));
+            buffer.position(end);
+        }
+        application.setMaxPages(maxPages);
+    }
+
+    private static void readDatabase(final Database database, final Application application,
+                                     final ByteBuffer buffer) throws IOException {
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("The file is not a snapshot of the platform");
+        }
+        if (buffer.getInt() != VERSION) {
+            throw new IOException("The snapshot was written in an unsupported format");
+        }
+        database.clear();
+
+        ArrayList<String> strings = new ArrayList<String>();
+        int count = buffer.getInt();
+        ArrayList<Movie> movies = new ArrayList<Movie>(count);
+        int i;
+        for (i = 0; i < count; i++) {
+            Movie movie = readMovie(buffer, strings);
+            database.restoreMovie(movie);
+            movies.add(movie);
+        }
+
+        count = buffer.getInt();
+        for (i = 0; i < count; i++) {
+            CredentialsInput credentials = new CredentialsInput();
+            credentials.setName(readText(buffer));
+            credentials.setPassword(readText(buffer));
+            credentials.setAccountType(readString(buffer, strings));
+            credentials.setCountry(readString(buffer, strings));
+            credentials.setBalance(buffer.getInt());
+
+            User user = new User(credentials);
+            user.setTotalTokens(buffer.getInt());
+            user.setRemainingFreeMovies(buffer.getInt());
+            database.restoreUser(user);
+
+            for (Movie movie : readMovies(buffer, movies)) {
+                user.addPurchasedMovie(movie);
+            }
+            for (Movie movie : readMovies(buffer, movies)) {
+                user.addWatchedMovie(movie);
+            }
+            for (Movie movie : readMovies(buffer, movies)) {
+                user.addLikedMovie(movie);
+            }
+            for (Movie movie : readMovies(buffer, movies)) {
+                user.addRatedMovie(movie);
+            }
+
+            int notifications = buffer.getInt();
+            while (notifications-- > 0) {
+                String movieName = readText(buffer);
+                user.addNotification(new Notification(movieName, readString(buffer, strings)));
+            }
+            for (String genre : readStrings(buffer, strings)) {
+                database.subscribe(user, genre);
+            }
+        }
+
+        if (application != null) {
+            readSession(database, application, buffer, strings, movies);
+        }
+    }
+
+    private void writeMovies(final MovieList movies) throws IOException {
+        writeInt(movies.size());
+        for (Movie movie : movies) {
+            writeInt(this.positions[movie.getId()]);
+        }
+    }
+
+    private static List<Movie> readMovies(final ByteBuffer buffer, final List<Movie> movies) {
+        int count = buffer.getInt();
+        ArrayList<Movie> result = new ArrayList<Movie>(count);
+        while (count-- > 0) {
+            result.add(movies.get(buffer.getInt()));
+        }
+        return result;
+    }
+
+    private void writeStrings(final List<String> values) throws IOException {
+        writeInt(values.size());
+        for (String value : values) {
+            writeString(value);
+        }
+    }
+
+    private static ArrayList<String> readStrings(final ByteBuffer buffer,
+                                                 final List<String> strings) {
+        int count = buffer.getInt();
+        ArrayList<String> result = new ArrayList<String>(count);
+        while (count-- > 0) {
+            result.add(readString(buffer, strings));
+        }
+        return result;
+    }
+
+    /**
+     * The method writes a string as it is (its length and its UTF-8 bytes); it is
+     * used for the strings that are unlikely to repeat, such as titles and names
+     * @param value: the string that is written (may be null)
+     */
+    private void writeText(final String value) throws IOException {
+        if (value == null) {
+            writeInt(NULL_STRING);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeInt(bytes.length);
+        writeBytes(bytes);
+    }
+
+    private void writeBytes(final byte[] bytes) throws IOException {
+        if (bytes.length > this.block.remaining()) {
+            flush();
+        }
+        if (bytes.length > this.block.remaining()) {
+            ByteBuffer contents = ByteBuffer.wrap(bytes);
+            while (contents.hasRemaining()) {
+                this.channel.write(contents);
+            }
+            return;
+        }
+        this.block.put(bytes);
+    }
+
+    private static String readText(final ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_STRING) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The method writes a reference to a string that is shared across the platform
+     * (a genre, an actor, a country, ...); the first reference to a string
+     * is followed by its contents
+     * @param value: the string that is written (may be null)
+     */
+    private void writeString(final String value) throws IOException {
+        if (value == null) {
+            writeInt(NULL_STRING);
+            return;
+        }
+
+        Integer position = this.strings.get(value);
+        if (position != null) {
+            writeInt(position);
+            return;
+        }
+
+        this.strings.put(value, this.strings.size());
+        writeInt(this.strings.size() - 1);
+        writeText(value);
+    }
+
+    private static String readString(final ByteBuffer buffer, final List<String> strings) {
+        int position = buffer.getInt();
+        if (position == NULL_STRING) {
+            return null;
+        }
+        if (position < strings.size()) {
+            return strings.get(position);
+        }
+        if (position != strings.size()) {
+            throw new IndexOutOfBoundsException("Unknown string: " + position);
+        }
+
+        String value = readText(buffer);
+        strings.add(value);
+        return value;
+    }
+
+    private void writeInt(final int value) throws IOException {
+        if (this.block.remaining() < Integer.BYTES) {
+            flush();
+        }
+        this.block.putInt(value);
+    }
+
+    private void flush() throws IOException {
+        this.block.flip();
+        while (this.block.hasRemaining()) {
+            this.channel.write(this.block);
+        }
+        this.block.clear();
+    }
+}
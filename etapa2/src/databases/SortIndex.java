@@ -0,0 +1,304 @@
+package databases;
+
+import comparators.DurationComparator;
+import comparators.FiltersComparator;
+import comparators.PackedKeys;
+import comparators.RatingComparator;
+import entities.Movie;
+import input.SortInput;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public final class SortIndex {
+    private static final List<String> ORDERS = Arrays.asList(null, "increasing", "decreasing");
+    private static final int NOT_INDEXED = -1;
+
+    // below this share of the catalog, sorting the filtered movies is cheaper
+    // than walking through a whole ordering
+    private static final int SPARSE_RATIO = 8;
+
+    private final MovieCatalog movies;
+
+    // the attribute holds the catalog sorted in every way a filter may ask for
+    // (by duration, by rating or by both, in both directions), indexed by the
+    // positions of the rating and duration orders within ORDERS; the movies that
+    // are equal according to a sort keep the order they were added in, like
+    // a stable sort of the catalog would leave them, and every ordering is only
+    // built the first time it is requested
+    private final ArrayList<TreeSet<Movie>> orderings;
+
+    // the sessions walk through the orderings under the read lock, while the ones
+    // that build an ordering or move a rated movie within the orderings that depend
+    // on the rating take the write lock (adding and removing movies already runs
+    // under the database's write lock, so it never waits for it)
+    private final ReentrantReadWriteLock lock;
+
+    public SortIndex(final MovieCatalog movies) {
+        this.movies = movies;
+        this.lock = new ReentrantReadWriteLock();
+        this.orderings = new ArrayList<TreeSet<Movie>>();
+        int kind;
+        for (kind = 0; kind < ORDERS.size() * ORDERS.size(); kind++) {
+            this.orderings.add(null);
+        }
+    }
+
+    /**
+     * The method returns the comparator used for sorting movies in a given way
+     * @param sortInput: the details of the sort
+     * @return comparator: the matching comparator (null, if the sort does not
+     * have any criteria)
+     */
+    public static Comparator<Movie> createComparator(final SortInput sortInput) {
+        if (sortInput.getRating() == null && sortInput.getDuration() != null) {
+            return new DurationComparator(sortInput.getDuration());
+        }
+
+        if (sortInput.getRating() != null && sortInput.getDuration() == null) {
+            return new RatingComparator(sortInput.getRating());
+        }
+
+        if (sortInput.getRating() != null && sortInput.getDuration() != null) {
+            return new FiltersComparator(sortInput.getRating(), sortInput.getDuration());
+        }
+
+        return null;
+    }
+
+    /**
+     * The method finds the ordering that matches a sort
+     * @param sortInput: the details of the sort
+     * @return kind: the position of the ordering or NOT_INDEXED, if the sort
+     * has no criteria or an unknown one
+     */
+    private static int kindOf(final SortInput sortInput) {
+        int rating = ORDERS.indexOf(sortInput.getRating());
+        int duration = ORDERS.indexOf(sortInput.getDuration());
+
+        if (rating < 0 || duration < 0 || rating + duration == 0) {
+            return NOT_INDEXED;
+        }
+        return rating * ORDERS.size() + duration;
+    }
+
+    private static boolean dependsOnRating(final int kind) {
+        return kind / ORDERS.size() != 0;
+    }
+
+    private boolean hasRatingOrderings() {
+        int kind;
+        for (kind = 0; kind < this.orderings.size(); kind++) {
+            if (dependsOnRating(kind) && this.orderings.get(kind) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The method returns one of the orderings, building it if it is requested
+     * for the first time (it must be called without holding the read lock)
+     * @param kind: the position of the ordering
+     * @return ordering: the requested ordering
+     */
+    private TreeSet<Movie> getOrdering(final int kind) {
+        Lock shared = this.lock.readLock();
+        Lock exclusive = this.lock.writeLock();
+        TreeSet<Movie> ordering;
+
+        shared.lock();
+        try {
+            ordering = this.orderings.get(kind);
+        } finally {
+            shared.unlock();
+        }
+        if (ordering != null) {
+            return ordering;
+        }
+
+        exclusive.lock();
+        try {
+            ordering = this.orderings.get(kind);
+            if (ordering != null) {
+                return ordering;
+            }
+
+            SortInput sortInput = new SortInput();
+            sortInput.setRating(ORDERS.get(kind / ORDERS.size()));
+            sortInput.setDuration(ORDERS.get(kind % ORDERS.size()));
+
+            ordering = new TreeSet<Movie>(createComparator(sortInput)
+                    .thenComparingInt(Movie::getId));
+            for (Movie movie : this.movies) {
+                ordering.add(movie);
+            }
+            this.orderings.set(kind, ordering);
+            return ordering;
+        } finally {
+            exclusive.unlock();
+        }
+    }
+
+    /**
+     * The method sorts a set of movies from the catalog
+     * @param sortInput: the details of the sort
+     * @param filtered: the ids of the movies that are sorted
+     * @param limit: the maximum number of movies that are returned (only the first
+     * ones are sorted, if the movies are taken from an ordering)
+     * @return ids: the ids of the first movies, in sorted order
+     */
+    public int[] sort(final SortInput sortInput, final BitSet filtered, final int limit) {
+        int selected = filtered.cardinality();
+        int[] ids = new int[Math.min(selected, limit)];
+        int kind = kindOf(sortInput);
+        int position = 0;
+
+        if (kind == NOT_INDEXED || (long) selected * SPARSE_RATIO < this.movies.size()) {
+            ArrayList<Movie> sorted = new ArrayList<Movie>(selected);
+            int id;
+            for (id = filtered.nextSetBit(0); id >= 0; id = filtered.nextSetBit(id + 1)) {
+                sorted.add(this.movies.get(id));
+            }
+
+            int[] order = PackedKeys.sort(sorted, sortInput.getRating(),
+                    sortInput.getDuration());
+            if (order != null) {
+                System.arraycopy(order, 0, ids, 0, ids.length);
+                return ids;
+            }
+
+            // the sort has no criteria or its keys are too large to be packed
+            if (selected > 1) {
+                sorted.sort(createComparator(sortInput));
+            }
+            for (position = 0; position < ids.length; position++) {
+                ids[position] = sorted.get(position).getId();
+            }
+            return ids;
+        }
+
+        TreeSet<Movie> ordering = getOrdering(kind);
+        Lock shared = this.lock.readLock();
+
+        shared.lock();
+        try {
+            for (Movie movie : ordering) {
+                if (position == ids.length) {
+                    break;
+                }
+                if (filtered.get(movie.getId())) {
+                    ids[position++] = movie.getId();
+                }
+            }
+        } finally {
+            shared.unlock();
+        }
+        return ids;
+    }
+
+    /**
+     * The method adds a movie to the orderings that have been built
+     * @param movie: the movie that is being added
+     */
+    public void add(final Movie movie) {
+        Lock exclusive = this.lock.writeLock();
+
+        exclusive.lock();
+        try {
+            for (TreeSet<Movie> ordering : this.orderings) {
+                if (ordering != null) {
+                    ordering.add(movie);
+                }
+            }
+        } finally {
+            exclusive.unlock();
+        }
+    }
+
+    /**
+     * The method removes a movie from the orderings that have been built
+     * @param movie: the movie that is being removed
+     */
+    public void remove(final Movie movie) {
+        Lock exclusive = this.lock.writeLock();
+
+        exclusive.lock();
+        try {
+            for (TreeSet<Movie> ordering : this.orderings) {
+                if (ordering != null) {
+                    ordering.remove(movie);
+                }
+            }
+        } finally {
+            exclusive.unlock();
+        }
+    }
+
+    /**
+     * The method adds a rate to a movie of the catalog; while no ordering depends on
+     * the rating, several sessions may rate movies at once, otherwise the movie is
+     * moved within the orderings that depend on it, one rate at a time
+     * @param movie: the rated movie
+     * @param rate: the given rating
+     * @param recalculate: "true" if the user had already rated the movie
+     * @return boolean: "true" if the movie's average rating changed, "false" otherwise
+     */
+    public boolean rate(final Movie movie, final int rate, final boolean recalculate) {
+        Lock shared = this.lock.readLock();
+        Lock exclusive = this.lock.writeLock();
+
+        // the read lock keeps an ordering from being built while the rating changes
+        shared.lock();
+        try {
+            if (!hasRatingOrderings()) {
+                return movie.addRating(rate, recalculate);
+            }
+        } finally {
+            shared.unlock();
+        }
+
+        exclusive.lock();
+        try {
+            int kind;
+            for (kind = 0; kind < this.orderings.size(); kind++) {
+                if (dependsOnRating(kind) && this.orderings.get(kind) != null) {
+                    this.orderings.get(kind).remove(movie);
+                }
+            }
+
+            boolean changed = movie.addRating(rate, recalculate);
+
+            for (kind = 0; kind < this.orderings.size(); kind++) {
+                if (dependsOnRating(kind) && this.orderings.get(kind) != null) {
+                    this.orderings.get(kind).add(movie);
+                }
+            }
+            return changed;
+        } finally {
+            exclusive.unlock();
+        }
+    }
+
+    /**
+     * The method removes all the orderings
+     */
+    public void clear() {
+        Lock exclusive = this.lock.writeLock();
+
+        exclusive.lock();
+        try {
+            int kind;
+            for (kind = 0; kind < this.orderings.size(); kind++) {
+                this.orderings.set(kind, null);
+            }
+        } finally {
+            exclusive.unlock();
+        }
+    }
+}
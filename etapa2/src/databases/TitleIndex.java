@@ -0,0 +1,68 @@
+package databases;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+public final class TitleIndex {
+
+    // the titles are kept in lexicographic order, so all the titles that start
+    // with a given prefix form a contiguous range that begins at the prefix itself
+    private final TreeMap<String, Integer> titles;
+
+    public TitleIndex() {
+        this.titles = new TreeMap<String, Integer>();
+    }
+
+    /**
+     * The method adds a movie's title to the index
+     * @param title: the title of the movie
+     * @param id: the identifier (catalog slot) of the movie
+     */
+    public void add(final String title, final int id) {
+        this.titles.putIfAbsent(title, id);
+    }
+
+    /**
+     * The method removes a movie's title from the index
+     * @param title: the title of the movie
+     * @param id: the identifier (catalog slot) of the movie
+     */
+    public void remove(final String title, final int id) {
+        this.titles.remove(title, id);
+    }
+
+    /**
+     * The method returns the movies whose titles start with a certain prefix
+     * @param prefix: the searched prefix
+     * @return ids: the identifiers of the movies, in increasing order
+     * (the order in which the movies were added to the catalog)
+     */
+    public int[] startingWith(final String prefix) {
+        int[] ids = new int[2];
+        int count = 0;
+
+        for (Map.Entry<String, Integer> entry : this.titles.tailMap(prefix, true).entrySet()) {
+            if (!entry.getKey().startsWith(prefix)) {
+                break;
+            }
+
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+            ids[count++] = entry.getValue();
+        }
+
+        ids = Arrays.copyOf(ids, count);
+        Arrays.sort(ids);
+
+        return ids;
+    }
+
+    /**
+     * The method removes all the titles from the index
+     */
+    public void clear() {
+        this.titles.clear();
+    }
+}
@@ -0,0 +1,87 @@
+package databases;
+
+import entities.User;
+
+import java.util.HashMap;
+import java.util.Objects;
+
+public final class UserIndex {
+
+    // the attributes resolve the registered users by their name and by the
+    // pair of credentials (name, password) used when logging in; if more
+    // accounts share the same key, the first registered one is kept, as it
+    // would have been found first when traversing the list of users
+    private final HashMap<String, User> byName;
+    private final HashMap<Credentials, User> byCredentials;
+
+    public UserIndex() {
+        this.byName = new HashMap<String, User>();
+        this.byCredentials = new HashMap<Credentials, User>();
+    }
+
+    private static final class Credentials {
+        private final String name;
+        private final String password;
+
+        Credentials(final String name, final String password) {
+            this.name = name;
+            this.password = password;
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (!(object instanceof Credentials)) {
+                return false;
+            }
+
+            Credentials credentials = (Credentials) object;
+            return Objects.equals(this.name, credentials.name)
+                    && Objects.equals(this.password, credentials.password);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.name, this.password);
+        }
+    }
+
+    /**
+     * The method adds a registered user to the index
+     * @param user: the user that is being added
+     */
+    public void add(final User user) {
+        this.byName.putIfAbsent(user.getName(), user);
+        this.byCredentials.putIfAbsent(new Credentials(user.getName(), user.getPassword()), user);
+    }
+
+    /**
+     * The method returns a registered user based on its name
+     * @param name: the name of the user
+     * @return user: the found user or null, if it had not been registered yet
+     */
+    public User find(final String name) {
+        return this.byName.get(name);
+    }
+
+    /**
+     * The method returns a registered user based on its credentials
+     * @param name: the name of the user
+     * @param password: the password of the user
+     * @return user: the found user or null, if the credentials do not match
+     * any registered account
+     */
+    public User find(final String name, final String password) {
+        return this.byCredentials.get(new Credentials(name, password));
+    }
+
+    /**
+     * The method removes all the users from the index
+     */
+    public void clear() {
+        this.byName.clear();
+        this.byCredentials.clear();
+    }
+}
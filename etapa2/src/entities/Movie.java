@@ -1,168 +1,268 @@
-package entities;
-
-import databases.Application;
-import databases.Database;
-import input.MovieInput;
-import pages.Page;
-import pages.PageCreator;
-import pages.SeeDetails;
-
-import java.util.ArrayList;
-
-public final class Movie {
-    private String name;
-    private int year;
-    private int duration;
-    private ArrayList<String> genres;
-    private ArrayList<String> actors;
-    private ArrayList<String> bannedCountries;
-    private int totalLikes;
-    private double rating;
-    private int totalViews;
-    private int totalRatings;
-    private int noRatings;
-    private int allRatings;
-    private SeeDetails info;
-
-    public Movie(final MovieInput movieInput) {
-        this.name = new String(movieInput.getName());
-        this.year = movieInput.getYear();
-        this.duration = movieInput.getDuration();
-        this.genres = new ArrayList<String>();
-        for (String genre : movieInput.getGenres()) {
-            this.genres.add(new String(genre));
-        }
-
-        this.actors = new ArrayList<String>();
-        for (String actor : movieInput.getActors()) {
-            this.actors.add(new String(actor));
-        }
-
-        this.bannedCountries = new ArrayList<String>();
-        for (String bannedCountry : movieInput.getCountriesBanned()) {
-            this.bannedCountries.add(new String(bannedCountry));
-        }
-
-        this.totalLikes = 0;
-        this.rating = 0;
-        this.totalViews = 0;
-        this.totalRatings = 0;
-        this.noRatings = 0;
-        this.allRatings = 0;
-    }
-
-    /**
-     * The method offers access to the current movie to its "See Details Page"
-     * by creating it
-     *
-     * @param database:    the platform's database that the page has access to
-     * @param application: the collection of pages that the page has
-     *                     hyperlinks to
-     */
-    public void init(final Database database, final Application application) {
-        this.info = (SeeDetails) PageCreator.createPage(PageCreator.PageType.SeeDetails,
-                                                                        database, application);
-    }
-
-    public String getName() {
-        return name;
-    }
-
-    public int getYear() {
-        return year;
-    }
-
-    public int getDuration() {
-        return duration;
-    }
-
-    public ArrayList<String> getGenres() {
-        return genres;
-    }
-
-    public ArrayList<String> getActors() {
-        return actors;
-    }
-
-    public ArrayList<String> getBannedCountries() {
-        return bannedCountries;
-    }
-
-    public int getTotalLikes() {
-        return totalLikes;
-    }
-
-    public double getRating() {
-        return rating;
-    }
-
-    public void setRating(final int rating) {
-        this.rating = rating;
-    }
-
-    public int getTotalViews() {
-        return totalViews;
-    }
-
-    public Page getInfo() {
-        return info;
-    }
-
-    public int getTotalRatings() {
-        return totalRatings;
-    }
-
-    public int getNoRatings() {
-        return noRatings;
-    }
-
-    /**
-     * The method counts the total number of likes the movie has received from
-     * the platform's users
-     */
-    public void addLike() {
-        this.totalLikes += 1;
-    }
-
-    /**
-     * The method counts the total number of views the movie has received from
-     * the platform's users
-     */
-    public void addView() {
-        this.totalViews += 1;
-    }
-
-    /**
-     * The method calculates the current movie's rating
-     *
-     * @param givenRating: the rate that a user offered
-     * @param recalculate: signals that a user rates the movie again
-     */
-    public void addRating(final int givenRating, final boolean recalculate) {
-        this.totalRatings = this.totalRatings + givenRating;
-
-        this.allRatings += 1;
-
-        if (!recalculate) {
-            this.noRatings += 1;
-        }
-
-        double result = this.totalRatings;
-        result /= this.allRatings;
-        this.rating = result;
-    }
-
-    @Override
-    public String toString() {
-        return "Movie{"
-                + "name: " + this.name + "\n"
-                + "year: " + this.year + "\n"
-                + "duration: " + this.duration + "\n"
-                + "genres: " + this.genres + "\n"
-                + "actors: " + this.actors + "\n"
-                + "likes: " + this.totalLikes + "\n"
-                + "rating: " + this.rating + "\n"
-                + "views: " + this.totalViews + "\n"
-                + "banned countries: " + this.bannedCountries + "}" + "\n";
-    }
-}
+package entities;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import input.MovieInput;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class Movie {
+    private int id;
+    private String name;
+    private int year;
+    private int duration;
+    private ArrayList<String> genres;
+    private ArrayList<String> actors;
+    private ArrayList<String> bannedCountries;
+
+    // the statistics may be updated by several sessions at once: the likes and
+    // the views are counted by adders (which spread the contention over several
+    // cells), while the ratings are replaced as a whole, so that the rating and
+    // the number of ratings are always read from the same state
+    private final LongAdder totalLikes;
+    private final LongAdder totalViews;
+    private final AtomicReference<Rating> ratings;
+
+    // the users that hold the movie in any of their lists (purchased, watched,
+    // liked or rated); it is a reverse index used for removing the movie only
+    // from the lists it appears in once it is deleted from the database; the
+    // sessions of different users add themselves at once, so the set is guarded
+    // by the movie's monitor
+    private LinkedHashSet<User> holders;
+
+    // the version is increased every time the movie's statistics change, so
+    // that its JSON rendering can be reused for as long as it stays the same
+    // (a rendering is stored along with the version read before it was built,
+    // so that a change made meanwhile by another session is never hidden)
+    private final AtomicInteger version;
+    private ObjectNode rendering;
+    private int renderingVersion;
+
+    public Movie(final MovieInput movieInput) {
+        this(new String(movieInput.getName()), movieInput.getYear(), movieInput.getDuration(),
+                copy(movieInput.getGenres()), copy(movieInput.getActors()),
+                copy(movieInput.getCountriesBanned()));
+    }
+
+    /**
+     * The constructor builds a movie out of details that it takes over, without
+     * copying them (used when restoring the platform from a snapshot, whose
+     * genres, actors and countries are shared by all the movies)
+     * @param name: the title of the movie
+     * @param year: the year the movie was released in
+     * @param duration: the duration of the movie
+     * @param genres: the genres of the movie
+     * @param actors: the actors that play in the movie
+     * @param bannedCountries: the countries the movie cannot be watched in
+     */
+    public Movie(final String name, final int year, final int duration,
+                 final ArrayList<String> genres, final ArrayList<String> actors,
+                 final ArrayList<String> bannedCountries) {
+        this.name = name;
+        this.year = year;
+        this.duration = duration;
+        this.genres = genres;
+        this.actors = actors;
+        this.bannedCountries = bannedCountries;
+
+        this.totalLikes = new LongAdder();
+        this.totalViews = new LongAdder();
+        this.ratings = new AtomicReference<Rating>(Rating.NONE);
+        this.holders = new LinkedHashSet<User>();
+        this.version = new AtomicInteger();
+        this.renderingVersion = -1;
+    }
+
+    private static ArrayList<String> copy(final ArrayList<String> values) {
+        ArrayList<String> copies = new ArrayList<String>();
+        for (String value : values) {
+            copies.add(new String(value));
+        }
+        return copies;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(final int id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public int getDuration() {
+        return duration;
+    }
+
+    public ArrayList<String> getGenres() {
+        return genres;
+    }
+
+    public ArrayList<String> getActors() {
+        return actors;
+    }
+
+    public ArrayList<String> getBannedCountries() {
+        return bannedCountries;
+    }
+
+    public int getTotalLikes() {
+        return this.totalLikes.intValue();
+    }
+
+    public int getTotalViews() {
+        return this.totalViews.intValue();
+    }
+
+    /**
+     * The method returns the current state of the movie's ratings
+     * @return ratings: the requested state, which does not change afterwards
+     */
+    public Rating getRatings() {
+        return this.ratings.get();
+    }
+
+    public double getRating() {
+        return this.ratings.get().getRating();
+    }
+
+    public int getTotalRatings() {
+        return this.ratings.get().getTotalRatings();
+    }
+
+    public int getNoRatings() {
+        return this.ratings.get().getNoRatings();
+    }
+
+    /**
+     * The method counts the total number of likes the movie has received from
+     * the platform's users
+     */
+    public void addLike() {
+        this.totalLikes.increment();
+        this.version.incrementAndGet();
+    }
+
+    /**
+     * The method counts the total number of views the movie has received from
+     * the platform's users
+     */
+    public void addView() {
+        this.totalViews.increment();
+        this.version.incrementAndGet();
+    }
+
+    /**
+     * The method calculates the current movie's rating
+     *
+     * @param givenRating: the rate that a user offered
+     * @param recalculate: signals that a user rates the movie again
+     * @return boolean: "true" if the average rating changed, "false" otherwise
+     * (compared with the state the rate was added to, whatever other sessions
+     * rate the movie meanwhile)
+     */
+    public boolean addRating(final int givenRating, final boolean recalculate) {
+        Rating current;
+        Rating next;
+
+        do {
+            current = this.ratings.get();
+            next = current.add(givenRating, recalculate);
+        } while (!this.ratings.compareAndSet(current, next));
+        this.version.incrementAndGet();
+
+        return next.getRating() != current.getRating();
+    }
+
+    /**
+     * The method sets the statistics of a movie restored from a snapshot
+     * (it must be called before the movie is added to the database)
+     * @param likes: the total number of likes
+     * @param views: the total number of views
+     * @param restoredRatings: the state of the movie's ratings
+     */
+    public void restoreStatistics(final int likes, final int views,
+                                  final Rating restoredRatings) {
+        this.totalLikes.add(likes);
+        this.totalViews.add(views);
+        this.ratings.set(restoredRatings);
+        this.version.incrementAndGet();
+    }
+
+    public LinkedHashSet<User> getHolders() {
+        return holders;
+    }
+
+    /**
+     * The method marks the given user as one of the movie's holders
+     * @param user: the user that added the movie to one of his lists
+     */
+    public synchronized void addHolder(final User user) {
+        this.holders.add(user);
+    }
+
+    /**
+     * The method removes the movie from the lists of all its holders
+     * (required once the movie is deleted from the database)
+     */
+    public synchronized void releaseHolders() {
+        for (User user : this.holders) {
+            user.removeMovie(this);
+        }
+        this.holders.clear();
+    }
+
+    public int getVersion() {
+        return this.version.get();
+    }
+
+    /**
+     * The method returns the JSON rendering of the movie, if it was stored
+     * for the movie's current version
+     * @return rendering: the stored JSON node or null, if the movie has changed
+     * since it was last rendered (the node must not be modified)
+     */
+    public synchronized ObjectNode getRendering() {
+        if (this.renderingVersion != this.version.get()) {
+            return null;
+        }
+
+        return this.rendering;
+    }
+
+    /**
+     * The method stores the JSON rendering of one of the movie's versions
+     * @param rendering: the rendered JSON node
+     * @param renderedVersion: the version that was read before rendering the movie
+     * (if the movie has changed in the meantime, the rendering is already stale)
+     */
+    public synchronized void setRendering(final ObjectNode rendering,
+                                          final int renderedVersion) {
+        this.rendering = rendering;
+        this.renderingVersion = renderedVersion;
+    }
+
+    @Override
+    public String toString() {
+        return "Movie{"
+                + "name: " + this.name + "\n"
+                + "year: " + this.year + "\n"
+                + "duration: " + this.duration + "\n"
+                + "genres: " + this.genres + "\n"
+                + "actors: " + this.actors + "\n"
+                + "likes: " + getTotalLikes() + "\n"
+                + "rating: " + getRating() + "\n"
+                + "views: " + getTotalViews() + "\n"
+                + "banned countries: " + this.bannedCountries + "}" + "\n";
+    }
+}
@@ -0,0 +1,182 @@
+package entities;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public final class MovieList implements Iterable<Movie> {
+
+    // the membership of the movies is kept as a set of bits indexed by
+    // their identifiers, while their order is kept by a separate list;
+    // removed movies are only dropped from the list when too many of them
+    // have accumulated, so that a removal never shifts the whole list
+    private BitSet members;
+    private BitSet removed;
+    private ArrayList<Movie> order;
+    private int size;
+    private int removedEntries;
+
+    public MovieList() {
+        this.members = new BitSet();
+        this.removed = new BitSet();
+        this.order = new ArrayList<Movie>();
+        this.size = 0;
+        this.removedEntries = 0;
+    }
+
+    /**
+     * The method adds a movie at the end of the list, if it is not already contained
+     * @param movie: the movie that is being added
+     * @return boolean: "true" if the movie was added, "false" otherwise
+     */
+    public boolean add(final Movie movie) {
+        if (this.members.get(movie.getId())) {
+            return false;
+        }
+
+        // the movie might still have a removed entry within the list
+        if (this.removed.get(movie.getId())) {
+            compact();
+        }
+
+        this.members.set(movie.getId());
+        this.order.add(movie);
+        this.size += 1;
+
+        return true;
+    }
+
+    /**
+     * The method checks if a movie is contained by the list
+     * @param movie: the movie that is being searched for
+     * @return boolean: "true" if the movie is contained, "false" otherwise
+     */
+    public boolean contains(final Movie movie) {
+        return this.members.get(movie.getId());
+    }
+
+    /**
+     * The method removes a movie from the list
+     * @param movie: the movie that is being removed
+     * @return boolean: "true" if the movie was removed, "false" if it was not
+     * contained by the list
+     */
+    public boolean remove(final Movie movie) {
+        if (!this.members.get(movie.getId())) {
+            return false;
+        }
+
+        this.members.clear(movie.getId());
+        this.removed.set(movie.getId());
+        this.size -= 1;
+        this.removedEntries += 1;
+
+        if (this.removedEntries > this.order.size() / 2) {
+            compact();
+        }
+
+        return true;
+    }
+
+    /**
+     * The method drops the entries of the removed movies from the list
+     */
+    public void compact() {
+        ArrayList<Movie> movies = new ArrayList<Movie>(this.size);
+
+        for (Movie movie : this) {
+            movies.add(movie);
+        }
+
+        this.order = movies;
+        this.removed.clear();
+        this.removedEntries = 0;
+    }
+
+    /**
+     * The method rebuilds the membership of the movies once their identifiers
+     * have changed (the list must have been compacted before the change)
+     */
+    public void reindex() {
+        this.members = new BitSet();
+        this.removed = new BitSet();
+
+        for (Movie movie : this.order) {
+            this.members.set(movie.getId());
+        }
+    }
+
+    /**
+     * The method returns the identifiers of the movies the list contains
+     * @return ids: the requested identifiers (the set must not be modified)
+     */
+    public BitSet getIds() {
+        return this.members;
+    }
+
+    /**
+     * The method returns the number of movies the list contains
+     * @return size: the number of movies
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * The method checks if the list contains any movies
+     * @return boolean: "true" if the list is empty, "false" otherwise
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * The method iterates through the movies in the order they were added
+     * @return iterator: the requested iterator
+     */
+    @Override
+    public Iterator<Movie> iterator() {
+        return new Iterator<Movie>() {
+            private int next = advance(0);
+
+            private int advance(final int from) {
+                int i = from;
+                while (i < order.size() && !members.get(order.get(i).getId())) {
+                    i++;
+                }
+                return i;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return this.next < order.size();
+            }
+
+            @Override
+            public Movie next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                Movie movie = order.get(this.next);
+                this.next = advance(this.next + 1);
+                return movie;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("[");
+
+        for (Movie movie : this) {
+            if (result.length() > 1) {
+                result.append(", ");
+            }
+            result.append(movie);
+        }
+
+        return result.append("]").toString();
+    }
+}
@@ -0,0 +1,71 @@
+package entities;
+
+public final class Rating {
+    public static final Rating NONE = new Rating(0, 0, 0);
+
+    // the instances are immutable, so that the rating of a movie and its number
+    // of ratings are always read from the same state, even while other users
+    // are rating the movie
+    private final int totalRatings;
+    private final int allRatings;
+    private final int noRatings;
+
+    private Rating(final int totalRatings, final int allRatings, final int noRatings) {
+        this.totalRatings = totalRatings;
+        this.allRatings = allRatings;
+        this.noRatings = noRatings;
+    }
+
+    /**
+     * The method recreates the state of a movie's ratings
+     * (used when restoring the platform from a snapshot)
+     * @param totalRatings: the sum of all the given ratings
+     * @param allRatings: the number of given ratings
+     * @param noRatings: the number of users that rated the movie
+     * @return ratings: the requested state
+     */
+    public static Rating of(final int totalRatings, final int allRatings, final int noRatings) {
+        if (totalRatings == 0 && allRatings == 0 && noRatings == 0) {
+            return NONE;
+        }
+        return new Rating(totalRatings, allRatings, noRatings);
+    }
+
+    /**
+     * The method computes the state that follows a new rate
+     *
+     * @param givenRating: the rate that a user offered
+     * @param recalculate: signals that a user rates the movie again
+     * @return rating: the new state (the current one is not changed)
+     */
+    public Rating add(final int givenRating, final boolean recalculate) {
+        return new Rating(this.totalRatings + givenRating, this.allRatings + 1,
+                recalculate ? this.noRatings : this.noRatings + 1);
+    }
+
+    /**
+     * The method returns the average of all the rates the movie has received
+     * @return rating: the requested average (0, if the movie was not rated yet)
+     */
+    public double getRating() {
+        if (this.allRatings == 0) {
+            return 0;
+        }
+
+        double result = this.totalRatings;
+        result /= this.allRatings;
+        return result;
+    }
+
+    public int getTotalRatings() {
+        return totalRatings;
+    }
+
+    public int getAllRatings() {
+        return allRatings;
+    }
+
+    public int getNoRatings() {
+        return noRatings;
+    }
+}
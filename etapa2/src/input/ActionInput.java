@@ -1,129 +1,149 @@
-package input;
-
-public final class ActionInput {
-    private String type;
-    private String page;
-    private String feature;
-    private CredentialsInput credentials;
-    private String startsWith;
-    private FilterInput filters;
-    private String movie;
-    private int rate;
-    private int count;
-    private String subscribedGenre;
-    private MovieInput addedMovie;
-    private String deletedMovie;
-
-    public ActionInput() {
-    }
-
-    public String getType() {
-        return type;
-    }
-
-    public void setType(final String type) {
-        this.type = type;
-    }
-
-    public String getPage() {
-        return page;
-    }
-
-    public void setPage(final String page) {
-        this.page = page;
-    }
-
-    public String getFeature() {
-        return feature;
-    }
-
-    public void setFeature(final String feature) {
-        this.feature = feature;
-    }
-
-    public CredentialsInput getCredentials() {
-        return credentials;
-    }
-
-    public void setCredentials(final CredentialsInput credentials) {
-        this.credentials = credentials;
-    }
-
-    public String getStartsWith() {
-        return startsWith;
-    }
-
-    public void setStartsWith(final String startsWith) {
-        this.startsWith = startsWith;
-    }
-
-    public FilterInput getFilters() {
-        return filters;
-    }
-
-    public void setFilters(final FilterInput filters) {
-        this.filters = filters;
-    }
-
-    public String getMovie() {
-        return movie;
-    }
-
-    public void setMovie(final String movie) {
-        this.movie = movie;
-    }
-
-    public int getRate() {
-        return rate;
-    }
-
-    public void setRate(final int rate) {
-        this.rate = rate;
-    }
-
-    public int getCount() {
-        return count;
-    }
-
-    public String getSubscribedGenre() {
-        return subscribedGenre;
-    }
-
-    public void setCount(final int count) {
-        this.count = count;
-    }
-
-    public void setSubscribedGenre(final String subscribedGenre) {
-        this.subscribedGenre = subscribedGenre;
-    }
-
-    public MovieInput getAddedMovie() {
-        return addedMovie;
-    }
-
-    public void setAddedMovie(final MovieInput addedMovie) {
-        this.addedMovie = addedMovie;
-    }
-
-    public String getDeletedMovie() {
-        return deletedMovie;
-    }
-
-    public void setDeletedMovie(final String deletedMovie) {
-        this.deletedMovie = deletedMovie;
-    }
-
-    @Override
-    public String toString() {
-        return "Action{"
-                + "name: " + this.type + "\n"
-                + "password: " + this.page + "\n"
-                + "account type: " + this.feature + "\n"
-                + "country: " + this.credentials + "\n"
-                + "starts with: " + this.startsWith + "\n"
-                + "filters: " + this.filters + "\n"
-                + "movie: " + this.movie + "\n"
-                + "rate: " + this.rate + "\n"
-                + "count: " + this.count + "}" + "\n";
-    }
-}
+package input;
+
+public final class ActionInput {
+    private String type;
+    private String page;
+    private String feature;
+    private CredentialsInput credentials;
+    private String startsWith;
+    private FilterInput filters;
+    private String movie;
+    private int rate;
+    private int count;
+    private String subscribedGenre;
+    private MovieInput addedMovie;
+    private String deletedMovie;
+
+    // the codes of the type, page and feature, decoded once when they are set
+    private ActionType actionType = ActionType.UNKNOWN;
+    private PageId pageId = PageId.UNKNOWN;
+    private Feature featureCode = Feature.UNKNOWN;
+
+    public ActionInput() {
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(final String type) {
+        this.type = type;
+        this.actionType = ActionType.decode(type);
+    }
+
+    public ActionType getActionType() {
+        return actionType;
+    }
+
+    public String getPage() {
+        return page;
+    }
+
+    public void setPage(final String page) {
+        this.page = page;
+        this.pageId = PageId.decode(page);
+    }
+
+    public PageId getPageId() {
+        return pageId;
+    }
+
+    public String getFeature() {
+        return feature;
+    }
+
+    public void setFeature(final String feature) {
+        this.feature = feature;
+        this.featureCode = Feature.decode(feature);
+    }
+
+    public Feature getFeatureCode() {
+        return featureCode;
+    }
+
+    public CredentialsInput getCredentials() {
+        return credentials;
+    }
+
+    public void setCredentials(final CredentialsInput credentials) {
+        this.credentials = credentials;
+    }
+
+    public String getStartsWith() {
+        return startsWith;
+    }
+
+    public void setStartsWith(final String startsWith) {
+        this.startsWith = startsWith;
+    }
+
+    public FilterInput getFilters() {
+        return filters;
+    }
+
+    public void setFilters(final FilterInput filters) {
+        this.filters = filters;
+    }
+
+    public String getMovie() {
+        return movie;
+    }
+
+    public void setMovie(final String movie) {
+        this.movie = movie;
+    }
+
+    public int getRate() {
+        return rate;
+    }
+
+    public void setRate(final int rate) {
+        this.rate = rate;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public String getSubscribedGenre() {
+        return subscribedGenre;
+    }
+
+    public void setCount(final int count) {
+        this.count = count;
+    }
+
+    public void setSubscribedGenre(final String subscribedGenre) {
+        this.subscribedGenre = subscribedGenre;
+    }
+
+    public MovieInput getAddedMovie() {
+        return addedMovie;
+    }
+
+    public void setAddedMovie(final MovieInput addedMovie) {
+        this.addedMovie = addedMovie;
+    }
+
+    public String getDeletedMovie() {
+        return deletedMovie;
+    }
+
+    public void setDeletedMovie(final String deletedMovie) {
+        this.deletedMovie = deletedMovie;
+    }
+
+    @Override
+    public String toString() {
+        return "Action{"
+                + "name: " + this.type + "\n"
+                + "password: " + this.page + "\n"
+                + "account type: " + this.feature + "\n"
+                + "country: " + this.credentials + "\n"
+                + "starts with: " + this.startsWith + "\n"
+                + "filters: " + this.filters + "\n"
+                + "movie: " + this.movie + "\n"
+                + "rate: " + this.rate + "\n"
+                + "count: " + this.count + "}" + "\n";
+    }
+}
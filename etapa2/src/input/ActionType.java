@@ -0,0 +1,46 @@
+package input;
+
+import java.util.HashMap;
+
+/**
+ * The types of actions the platform executes, decoded once from the "type"
+ * field of every action, so that they are dispatched without string comparisons
+ */
+public enum ActionType {
+    CHANGE_PAGE("change page"),
+    ON_PAGE("on page"),
+    BACK("back"),
+    DATABASE("database"),
+    UNKNOWN(null);
+
+    private static final HashMap<String, ActionType> CODES = new HashMap<String, ActionType>();
+
+    static {
+        for (ActionType type : values()) {
+            CODES.put(type.label, type);
+        }
+    }
+
+    private final String label;
+
+    ActionType(final String label) {
+        this.label = label;
+    }
+
+    /**
+     * The method returns the name of the type, as it appears in the input
+     * @return label: the name of the type
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * The method decodes the type of an action
+     * @param label: the name of the type, as it appears in the input
+     * @return type: the matching type or UNKNOWN, if there is none
+     */
+    public static ActionType decode(final String label) {
+        return CODES.getOrDefault(label, UNKNOWN);
+    }
+}
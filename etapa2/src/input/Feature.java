@@ -0,0 +1,55 @@
+package input;
+
+import java.util.HashMap;
+
+/**
+ * The features of the pages, decoded once from the "feature" field of every
+ * action, so that they are dispatched without string comparisons
+ */
+public enum Feature {
+    LOGIN("login"),
+    REGISTER("register"),
+    SEARCH("search"),
+    FILTER("filter"),
+    PURCHASE("purchase"),
+    WATCH("watch"),
+    LIKE("like"),
+    RATE("rate"),
+    SUBSCRIBE("subscribe"),
+    BUY_TOKENS("buy tokens"),
+    BUY_PREMIUM_ACCOUNT("buy premium account"),
+    ADD("add"),
+    DELETE("delete"),
+    UNKNOWN(null);
+
+    private static final HashMap<String, Feature> CODES = new HashMap<String, Feature>();
+
+    static {
+        for (Feature feature : values()) {
+            CODES.put(feature.label, feature);
+        }
+    }
+
+    private final String label;
+
+    Feature(final String label) {
+        this.label = label;
+    }
+
+    /**
+     * The method returns the name of the feature, as it appears in the input
+     * @return label: the name of the feature
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * The method decodes the feature an action uses
+     * @param label: the name of the feature, as it appears in the input
+     * @return feature: the matching feature or UNKNOWN, if there is none
+     */
+    public static Feature decode(final String label) {
+        return CODES.getOrDefault(label, UNKNOWN);
+    }
+}
@@ -0,0 +1,137 @@
+package input;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public final class InputReader implements Iterator<ActionInput>, Closeable {
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+
+    // the users and the movies are read as soon as the file is opened, while
+    // the actions are pulled from the parser one at a time, when requested
+    private final Input input;
+    private Iterator<ActionInput> readActions;
+    private ActionInput nextAction;
+
+    public InputReader(final ObjectMapper objectMapper, final File file) throws IOException {
+        this.objectMapper = objectMapper;
+        this.parser = objectMapper.createParser(file);
+        this.input = new Input();
+        this.input.setUsers(new ArrayList<UserInput>());
+        this.input.setMovies(new ArrayList<MovieInput>());
+
+        if (this.parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("The input data must be a JSON object");
+        }
+
+        readPlatform();
+        this.nextAction = readAction();
+    }
+
+    /**
+     * The method reads the fields of the input up to the array of actions;
+     * if the actions come before the users or the movies, they are read entirely
+     * so that the platform can be constructed before the first action takes place
+     * @throws IOException: if the input data is not valid
+     */
+    private void readPlatform() throws IOException {
+        boolean hasUsers = false;
+        boolean hasMovies = false;
+
+        while (this.parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = this.parser.getCurrentName();
+            this.parser.nextToken();
+
+            switch (field) {
+                case "users" -> {
+                    this.input.setUsers(this.objectMapper.readValue(this.parser,
+                            new TypeReference<ArrayList<UserInput>>() { }));
+                    hasUsers = true;
+                }
+                case "movies" -> {
+                    this.input.setMovies(this.objectMapper.readValue(this.parser,
+                            new TypeReference<ArrayList<MovieInput>>() { }));
+                    hasMovies = true;
+                }
+                case "actions" -> {
+                    if (hasUsers && hasMovies) {
+                        // the parser stays inside the array of actions
+                        return;
+                    }
+                    ArrayList<ActionInput> actions = this.objectMapper.readValue(this.parser,
+                            new TypeReference<ArrayList<ActionInput>>() { });
+                    this.readActions = actions.iterator();
+                }
+                default -> this.parser.skipChildren();
+            }
+        }
+
+        if (this.readActions == null) {
+            this.readActions = new ArrayList<ActionInput>().iterator();
+        }
+    }
+
+    /**
+     * The method reads the following action from the input
+     * @return action: the action that was read or null, if all the actions
+     * have been read
+     * @throws IOException: if the input data is not valid
+     */
+    private ActionInput readAction() throws IOException {
+        if (this.readActions != null) {
+            return this.readActions.hasNext() ? this.readActions.next() : null;
+        }
+
+        if (this.parser.nextToken() != JsonToken.START_OBJECT) {
+            return null;
+        }
+
+        return this.objectMapper.readValue(this.parser, ActionInput.class);
+    }
+
+    /**
+     * The method returns the users and the movies the platform starts with
+     * @return input: the object that holds the lists of users and movies
+     * (the list of actions is not part of it)
+     */
+    public Input getInput() {
+        return this.input;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return this.nextAction != null;
+    }
+
+    @Override
+    public ActionInput next() {
+        if (this.nextAction == null) {
+            throw new NoSuchElementException();
+        }
+
+        ActionInput action = this.nextAction;
+
+        try {
+            this.nextAction = readAction();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return action;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.parser.close();
+    }
+}
@@ -1,74 +1,74 @@
-package input;
-
-import java.util.ArrayList;
-
-public final class MovieInput {
-    private String name;
-    private int year;
-    private int duration;
-    private ArrayList<String> genres;
-    private ArrayList<String> actors;
-    private ArrayList<String> countriesBanned;
-
-    public MovieInput() {
-    }
-
-    public String getName() {
-        return name;
-    }
-
-    public void setName(final String name) {
-        this.name = name;
-    }
-
-    public int getYear() {
-        return year;
-    }
-
-    public void setYear(final int year) {
-        this.year = year;
-    }
-
-    public int getDuration() {
-        return duration;
-    }
-
-    public void setDuration(final int duration) {
-        this.duration = duration;
-    }
-
-    public ArrayList<String> getGenres() {
-        return genres;
-    }
-
-    public void setGenres(final ArrayList<String> genres) {
-        this.genres = genres;
-    }
-
-    public ArrayList<String> getActors() {
-        return actors;
-    }
-
-    public void setActors(final ArrayList<String> actors) {
-        this.actors = actors;
-    }
-
-    public ArrayList<String> getCountriesBanned() {
-        return countriesBanned;
-    }
-
-    public void setCountriesBanned(final ArrayList<String> countriesBanned) {
-        this.countriesBanned = countriesBanned;
-    }
-
-    @Override
-    public String toString() {
-        return "Movie{"
-                + "name: " + this.name + "\n"
-                + "year: " + this.year + "\n"
-                + "duration: " + this.duration + "\n"
-                + "genres: " + this.genres + "\n"
-                + "actors: " + this.actors + "\n"
-                + "banned countries: " + this.countriesBanned + "}" + "\n";
-    }
-}
+package input;
+
+import java.util.ArrayList;
+
+public final class MovieInput {
+    private String name;
+    private int year;
+    private int duration;
+    private ArrayList<String> genres;
+    private ArrayList<String> actors;
+    private ArrayList<String> countriesBanned;
+
+    public MovieInput() {
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(final String name) {
+        this.name = name;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public void setYear(final int year) {
+        this.year = year;
+    }
+
+    public int getDuration() {
+        return duration;
+    }
+
+    public void setDuration(final int duration) {
+        this.duration = duration;
+    }
+
+    public ArrayList<String> getGenres() {
+        return genres;
+    }
+
+    public void setGenres(final ArrayList<String> genres) {
+        this.genres = genres;
+    }
+
+    public ArrayList<String> getActors() {
+        return actors;
+    }
+
+    public void setActors(final ArrayList<String> actors) {
+        this.actors = actors;
+    }
+
+    public ArrayList<String> getCountriesBanned() {
+        return countriesBanned;
+    }
+
+    public void setCountriesBanned(final ArrayList<String> countriesBanned) {
+        this.countriesBanned = countriesBanned;
+    }
+
+    @Override
+    public String toString() {
+        return "Movie{"
+                + "name: " + this.name + "\n"
+                + "year: " + this.year + "\n"
+                + "duration: " + this.duration + "\n"
+                + "genres: " + this.genres + "\n"
+                + "actors: " + this.actors + "\n"
+                + "banned countries: " + this.countriesBanned + "}" + "\n";
+    }
+}
@@ -0,0 +1,49 @@
+package input;
+
+import java.util.HashMap;
+
+/**
+ * The pages an action navigates to, decoded once from the "page" field of every
+ * action, so that they are told apart without string comparisons
+ */
+public enum PageId {
+    HOMEPAGE("homepage"),
+    MOVIES("movies"),
+    SEE_DETAILS("see details"),
+    UPGRADES("upgrades"),
+    LOGIN("login"),
+    REGISTER("register"),
+    LOGOUT("logout"),
+    UNKNOWN(null);
+
+    private static final HashMap<String, PageId> CODES = new HashMap<String, PageId>();
+
+    static {
+        for (PageId page : values()) {
+            CODES.put(page.label, page);
+        }
+    }
+
+    private final String label;
+
+    PageId(final String label) {
+        this.label = label;
+    }
+
+    /**
+     * The method returns the name of the page, as it appears in the input
+     * @return label: the name of the page
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * The method decodes the page an action navigates to
+     * @param label: the name of the page, as it appears in the input
+     * @return page: the matching page or UNKNOWN, if there is none
+     */
+    public static PageId decode(final String label) {
+        return CODES.getOrDefault(label, UNKNOWN);
+    }
+}
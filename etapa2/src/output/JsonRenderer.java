@@ -0,0 +1,198 @@
+package output;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import entities.Movie;
+import entities.Notification;
+import entities.Rating;
+import entities.User;
+
+public final class JsonRenderer {
+
+    // the mapper is thread-safe once configured, so a single instance is shared
+    // by the whole platform (its construction is expensive); the nodes themselves
+    // are created through the stateless node factory
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonNodeFactory FACTORY = MAPPER.getNodeFactory();
+
+    private JsonRenderer() {
+    }
+
+    /**
+     * The method returns the mapper shared by the platform for reading
+     * and writing JSON data
+     * @return mapper: the shared instance
+     */
+    public static ObjectMapper getMapper() {
+        return MAPPER;
+    }
+
+    /**
+     * The method outputs the details of a chosen movie; the rendering is stored
+     * within the movie and reused until its statistics change, which is why
+     * the returned node is shared and must not be modified
+     * @param movie: the movie that is being shown
+     * @return result: the JSON node that holds the result
+     */
+    public static ObjectNode showMovie(final Movie movie) {
+        ObjectNode movieOutput = movie.getRendering();
+
+        if (movieOutput == null) {
+            // the version is read first, so that a change made while the movie
+            // is rendered leaves the stored rendering stale
+            int version = movie.getVersion();
+            movieOutput = renderMovie(movie);
+            movie.setRendering(movieOutput, version);
+        }
+
+        return movieOutput;
+    }
+
+    /**
+     * The method builds the JSON node that holds the details of a movie
+     * @param movie: the movie that is being rendered
+     * @return result: the newly created JSON node
+     */
+    private static ObjectNode renderMovie(final Movie movie) {
+        ObjectNode movieOutput = FACTORY.objectNode();
+
+        movieOutput.put("name", movie.getName());
+        movieOutput.put("year", String.valueOf(movie.getYear()));
+        movieOutput.put("duration", movie.getDuration());
+        ArrayNode genresOutput = movieOutput.putArray("genres");
+        for (String genre : movie.getGenres()) {
+            genresOutput.add(genre);
+        }
+        ArrayNode actorsOutput = movieOutput.putArray("actors");
+        for (String actor : movie.getActors()) {
+            actorsOutput.add(actor);
+        }
+        ArrayNode countriesOutput = movieOutput.putArray("countriesBanned");
+        for (String country : movie.getBannedCountries()) {
+            countriesOutput.add(country);
+        }
+        movieOutput.put("numLikes", movie.getTotalLikes());
+        Rating ratings = movie.getRatings();
+        movieOutput.put("rating", ratings.getRating());
+        movieOutput.put("numRatings", ratings.getNoRatings());
+
+        return movieOutput;
+    }
+
+    /**
+     * The method outputs a list of movies
+     * @param movies: the movies that are being shown
+     * @return result: the JSON array that holds the result
+     */
+    public static ArrayNode showMovies(final Iterable<Movie> movies) {
+        ArrayNode moviesOutput = FACTORY.arrayNode();
+
+        for (Movie movie : movies) {
+            moviesOutput.add(showMovie(movie));
+        }
+
+        return moviesOutput;
+    }
+
+    /**
+     * The method outputs the details of a given notification
+     * @param notification: the notification that is being shown
+     * @return result: the JSON node that holds the result
+     */
+    public static ObjectNode showNotification(final Notification notification) {
+        ObjectNode notificationOutput = FACTORY.objectNode();
+
+        notificationOutput.put("movieName", notification.getMovieName());
+        notificationOutput.put("message", notification.getMessage());
+
+        return notificationOutput;
+    }
+
+    /**
+     * The method outputs the details of a chosen user
+     * @param user: the user that is being shown
+     * @return result: the JSON node that holds the result (null, if the user
+     * has not been registered)
+     */
+    public static ObjectNode showUser(final User user) {
+        if (user.getName() == null) {
+            return null;
+        }
+
+        ObjectNode userOutput = FACTORY.objectNode();
+        ObjectNode credentialsOutput = userOutput.putObject("credentials");
+        credentialsOutput.put("name", user.getName());
+        credentialsOutput.put("password", user.getPassword());
+        credentialsOutput.put("accountType", user.getAccountType());
+        credentialsOutput.put("country", user.getCountry());
+        credentialsOutput.put("balance", String.valueOf(user.getTotalBalance()));
+        userOutput.put("tokensCount", user.getTotalTokens());
+        userOutput.put("numFreePremiumMovies", user.getRemainingFreeMovies());
+
+        userOutput.set("purchasedMovies", showMovies(user.getPurchasedMovies()));
+        userOutput.set("watchedMovies", showMovies(user.getWatchedMovies()));
+        userOutput.set("likedMovies", showMovies(user.getLikedMovies()));
+        userOutput.set("ratedMovies", showMovies(user.getRatedMovies()));
+
+        ArrayNode notificationsOutput = userOutput.putArray("notifications");
+        for (Notification notification : user.getNotifications()) {
+            notificationsOutput.add(showNotification(notification));
+        }
+
+        return userOutput;
+    }
+
+    /**
+     * The method creates the output of an action that took place
+     * @param movies: the movies the user sees on the screen (null, if the list
+     * is not part of the output)
+     * @param user: the user that fulfilled the action
+     * @return result: the ObjectNode that will further be added to the
+     * JSON ArrayNode that holds the output for the whole application
+     */
+    public static ObjectNode showResult(final Iterable<Movie> movies, final User user) {
+        ObjectNode result = FACTORY.objectNode();
+
+        result.putNull("error");
+        result.set("currentMoviesList", movies == null ? null : showMovies(movies));
+        result.set("currentUser", showUser(user));
+
+        return result;
+    }
+
+    /**
+     * The method creates the output of an action that could not take place,
+     * but still shows the state of the user
+     * @param movies: the movies the user sees on the screen
+     * @param user: the user that requested the action
+     * @return result: the ObjectNode that will further be added to the
+     * JSON ArrayNode that holds the output for the whole application
+     */
+    public static ObjectNode showError(final Iterable<Movie> movies, final User user) {
+        ObjectNode result = FACTORY.objectNode();
+
+        result.put("error", "Error");
+        result.set("currentMoviesList", showMovies(movies));
+        result.set("currentUser", showUser(user));
+
+        return result;
+    }
+
+    /**
+     * The method creates the output that is shown if the page action
+     * cannot take place
+     * @return result: the ObjectNode that will further be added to the
+     * JSON ArrayNode that holds the output for the whole application
+     */
+    public static ObjectNode showActionError() {
+        ObjectNode result = FACTORY.objectNode();
+
+        result.put("error", "Error");
+        result.putArray("currentMoviesList");
+        result.putNull("currentUser");
+
+        return result;
+    }
+}
@@ -0,0 +1,155 @@
+package output;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+public final class OutputWriter implements Closeable {
+
+    /**
+     * The point the output file has reached: the number of bytes written
+     * and the number of results they hold
+     */
+    public record Position(long offset, long results) {
+        public static final Position START = new Position(0, 0);
+    }
+
+    // the generator writes the elements of the resulting JSON array one by one,
+    // with the same formatting the whole array would have been printed with
+    private final FileChannel channel;
+    private final ResumingStream stream;
+    private final JsonGenerator generator;
+    private long results;
+
+    /**
+     * The stream the generator writes to; while it discards the written bytes,
+     * the generator can be brought to the state it had at a given position,
+     * without writing anything to the file
+     */
+    private static final class ResumingStream extends OutputStream {
+        private final OutputStream target;
+        private boolean discarding;
+
+        ResumingStream(final OutputStream target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(final int value) throws IOException {
+            if (!this.discarding) {
+                this.target.write(value);
+            }
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length)
+                throws IOException {
+            if (!this.discarding) {
+                this.target.write(bytes, offset, length);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            this.target.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.target.close();
+        }
+    }
+
+    public OutputWriter(final File file) throws IOException {
+        this(file, Position.START);
+    }
+
+    /**
+     * The constructor opens an output file, either from its beginning or from
+     * a position reached by a previous writer (the rest of the file is dropped,
+     * and the results written afterwards follow the ones before the position)
+     * @param file: the output file
+     * @param position: the position the writing starts from
+     * @throws IOException: if the file cannot be written or it is shorter than
+     * the given position
+     */
+    public OutputWriter(final File file, final Position position) throws IOException {
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+        if (this.channel.size() < position.offset()) {
+            this.channel.close();
+            throw new IOException("The output file is shorter than expected: " + file);
+        }
+        this.channel.truncate(position.offset());
+        this.channel.position(position.offset());
+
+        this.stream = new ResumingStream(Channels.newOutputStream(this.channel));
+        this.generator = JsonRenderer.getMapper().createGenerator(this.stream,
+                JsonEncoding.UTF8);
+        this.generator.setPrettyPrinter(new DefaultPrettyPrinter());
+
+        // the beginning of the array (and a placeholder for the results already
+        // written, so that the next result is preceded by a separator) is only
+        // written if the file does not hold it yet
+        this.stream.discarding = position.offset() > 0;
+        this.generator.writeStartArray();
+        if (position.results() > 0) {
+            this.generator.writeNull();
+        }
+        this.generator.flush();
+        this.stream.discarding = false;
+        this.results = position.results();
+    }
+
+    /**
+     * The method writes the results that have been produced so far to the output
+     * file and removes them from the given array, so that they are no longer
+     * kept in memory
+     * @param results: the JSON array that holds the newly produced results
+     * @throws IOException: if the output file cannot be written
+     */
+    public void write(final ArrayNode results) throws IOException {
+        if (results.isEmpty()) {
+            return;
+        }
+
+        for (JsonNode result : results) {
+            this.generator.writeTree(result);
+            this.results++;
+        }
+        results.removeAll();
+
+        this.generator.flush();
+    }
+
+    /**
+     * The method forces the written results to the disk
+     * @return position: the position the output file has reached
+     * @throws IOException: if the output file cannot be written
+     */
+    public Position sync() throws IOException {
+        this.generator.flush();
+        this.channel.force(false);
+        return new Position(this.channel.position(), this.results);
+    }
+
+    /**
+     * The method ends the JSON array of results and closes the output file
+     * @throws IOException: if the output file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        this.generator.writeEndArray();
+        this.generator.close();
+    }
+}
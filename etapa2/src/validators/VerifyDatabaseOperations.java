@@ -1,31 +1,20 @@
-package validators;
-
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
-
-public final class VerifyDatabaseOperations {
-
-    private VerifyDatabaseOperations() {
-    }
-
-    /**
-     * The method creates the output that is shown if the page action
-     * cannot take place
-     * @return result: the ObjectNode that will further be added to the
-     * JSON ArrayNode that holds the output for the whole application
-     */
-    public static ObjectNode showActionError() {
-
-        ObjectMapper objectMapper = new ObjectMapper();
-        ObjectNode result = objectMapper.createObjectNode();
-        ArrayNode movieListOutput = objectMapper.createArrayNode();
-        ObjectNode userOutput = null;
-
-        result.put("error", "Error");
-        result.set("currentMoviesList", movieListOutput);
-        result.set("currentUser", userOutput);
-
-        return result;
-    }
-}
+package validators;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import output.JsonRenderer;
+
+public final class VerifyDatabaseOperations {
+
+    private VerifyDatabaseOperations() {
+    }
+
+    /**
+     * The method creates the output that is shown if the page action
+     * cannot take place
+     * @return result: the ObjectNode that will further be added to the
+     * JSON ArrayNode that holds the output for the whole application
+     */
+    public static ObjectNode showActionError() {
+        return JsonRenderer.showActionError();
+    }
+}
@@ -1,286 +1,218 @@
-package validators;
-
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
-import databases.Application;
-import databases.Database;
-import entities.Genre;
-import entities.Movie;
-import entities.Notification;
-import entities.User;
-import comparators.GenresComparator;
-import comparators.LikesComparator;
-import java.util.ArrayList;
-
-public final class VerifyRecommendations {
-
-    private VerifyRecommendations() {
-    }
-
-    /**
-     * The method checks if a movie from the database can be watched by the given user
-     * (it is not banned in the user's country, and it has not already been watched by the user)
-     * @param movie: the movie that is being checked
-     * @param country: the country the user comes from
-     * @param watchedMovies: the user's list of watched movies
-     * @return boolean: "true" if the movie can be watched, "false" otherwise
-     */
-    private static boolean canView(final Movie movie, final String country,
-                                            final ArrayList<Movie> watchedMovies) {
-        if (movie.getBannedCountries().contains(country)) {
-            return false;
-        }
-
-        if (watchedMovies.contains(movie)) {
-            return false;
-        }
-
-        return true;
-    }
-
-    /**
-     * The method checks if a given genre has already been added to
-     * a certain user's top of genres
-     * @param genres: the list of genres
-     * @param checkGenre: the genre that is being searched for
-     * @return int: the position at which the genre should be found
-     * (0<= position <movies.size(), if the genre is present in the list, -1 otherwise)
-     */
-    private static int hasGenre(final ArrayList<Genre> genres, final String checkGenre) {
-
-        if (genres.isEmpty()) {
-            return -1;
-        }
-
-        int i;
-        for (i = 0; i < genres.size(); i++) {
-            Genre genre = genres.get(i);
-            if (genre.getGenre().compareTo(checkGenre) == 0) {
-                return i;
-            }
-        }
-
-        return -1;
-    }
-
-    /**
-     * The method fulfills outputs the details of a chosen movie
-     * @param movie: the movie that is being shown
-     * @return result: the JSON node that holds the result
-     */
-    private static ObjectNode showMovie(final Movie movie) {
-
-        ObjectMapper objectMapper = new ObjectMapper();
-        ObjectNode movieOutput = objectMapper.createObjectNode();
-
-        movieOutput.put("name", movie.getName());
-        movieOutput.put("year", String.valueOf(movie.getYear()));
-        movieOutput.put("duration", movie.getDuration());
-        ArrayNode genresOutput = objectMapper.createArrayNode();
-        for (String genre : movie.getGenres()) {
-            genresOutput.add(genre);
-        }
-        movieOutput.set("genres", genresOutput);
-        ArrayNode actorsOutput = objectMapper.createArrayNode();
-        for (String actor : movie.getActors()) {
-            actorsOutput.add(actor);
-        }
-        movieOutput.set("actors", actorsOutput);
-        ArrayNode countriesOutput = objectMapper.createArrayNode();
-        for (String country : movie.getBannedCountries()) {
-            countriesOutput.add(country);
-        }
-        movieOutput.set("countriesBanned", countriesOutput);
-        movieOutput.put("numLikes", movie.getTotalLikes());
-        movieOutput.put("rating", movie.getRating());
-        movieOutput.put("numRatings", movie.getNoRatings());
-
-        return movieOutput;
-    }
-
-    /**
-     * The method fulfills outputs the details of a given notification
-     * @param notification: the notification that is being shown
-     * @return result: the JSON node that holds the result
-     */
-    public static ObjectNode showNotification(final Notification notification) {
-        ObjectMapper objectMapper = new ObjectMapper();
-        ObjectNode notificationOutput = objectMapper.createObjectNode();
-
-        notificationOutput.put("movieName", notification.getMovieName());
-        notificationOutput.put("message", notification.getMessage());
-
-        return notificationOutput;
-    }
-
-    /**
-     * The method fulfills outputs the details of a chosen user
-     * @param user: the user that is being shown
-     * @return result: the JSON node that holds the result
-     */
-    private static ObjectNode showUser(final User user) {
-
-        ObjectMapper objectMapper = new ObjectMapper();
-        ObjectNode userOutput = null;
-
-        if (user.getName() != null) {
-            userOutput = objectMapper.createObjectNode();
-            ObjectNode credentialsOutput = objectMapper.createObjectNode();
-            credentialsOutput.put("name", user.getName());
-            credentialsOutput.put("password", user.getPassword());
-            credentialsOutput.put("accountType", user.getAccountType());
-            credentialsOutput.put("country", user.getCountry());
-            credentialsOutput.put("balance", String.valueOf(user.getTotalBalance()));
-            userOutput.set("credentials", credentialsOutput);
-            userOutput.put("tokensCount", user.getTotalTokens());
-            userOutput.put("numFreePremiumMovies", user.getRemainingFreeMovies());
-
-            ArrayNode purchasedOutput = objectMapper.createArrayNode();
-            for (Movie movie : user.getPurchasedMovies()) {
-                purchasedOutput.add(showMovie(movie));
-            }
-            userOutput.set("purchasedMovies", purchasedOutput);
-
-            ArrayNode watchedOutput = objectMapper.createArrayNode();
-            for (Movie movie : user.getWatchedMovies()) {
-                watchedOutput.add(showMovie(movie));
-            }
-            userOutput.set("watchedMovies", watchedOutput);
-
-            ArrayNode likedOutput = objectMapper.createArrayNode();
-            for (Movie movie : user.getLikedMovies()) {
-                likedOutput.add(showMovie(movie));
-            }
-            userOutput.set("likedMovies", likedOutput);
-
-            ArrayNode ratedOutput = objectMapper.createArrayNode();
-            for (Movie movie : user.getRatedMovies()) {
-                ratedOutput.add(showMovie(movie));
-            }
-            userOutput.set("ratedMovies", ratedOutput);
-
-            ArrayNode notificationsOutput = objectMapper.createArrayNode();
-            for (Notification notification : user.getNotifications()) {
-                notificationsOutput.add(showNotification(notification));
-            }
-            userOutput.set("notifications", notificationsOutput);
-        }
-
-        return userOutput;
-    }
-
-    /**
-     * The method creates the output that is shown if the page action
-     * can take place
-     * @param application: the platform's hierarchy of pages that holds
-     * the required information
-     * @return result: the ObjectNode that will further be added to the
-     * JSON ArrayNode that holds the output for the whole application
-     */
-    public static ObjectNode showOutput(final Application application) {
-
-        ObjectMapper objectMapper = new ObjectMapper();
-        ObjectNode result = objectMapper.createObjectNode();
-        ArrayNode movieListOutput = null;
-        ObjectNode error = null;
-
-        result.set("error", error);
-        result.set("currentMoviesList", movieListOutput);
-
-        result.set("currentUser", showUser(application.getCurrentUser()));
-
-        return result;
-    }
-
-    /**
-     * The method constructs the top of preferred genres of a user
-     * @param application: the platform the user accesses
-     * @return genres: the requested list
-     */
-    private static ArrayList<Genre> getTopOfGenres(final Application application) {
-
-        ArrayList<Genre> genres = new ArrayList<Genre>();
-
-        for (Movie likedMovie : application.getCurrentUser().getLikedMovies()) {
-            for (String likedGenre : likedMovie.getGenres()) {
-
-                int position = hasGenre(genres, likedGenre);
-
-                if (position < 0) {
-                    Genre newGenre = new Genre(likedGenre);
-                    newGenre.addLike();
-                    genres.add(newGenre);
-                } else {
-                    genres.get(position).addLike();
-                }
-            }
-        }
-
-        if (!genres.isEmpty()) {
-            genres.sort(new GenresComparator());
-        }
-
-        return genres;
-    }
-
-    /**
-     * The method creates a new notification for the last logged-in "premium" user
-     * @param application: the platform that holds the needed information
-     * @param database: the database that is accessed
-     * @param output: the array of JSON nodes that represents the collection of outputs
-     */
-    public static void getRecommendation(final Application application, final Database database,
-                                                                        final ArrayNode output) {
-
-        if (application.getCurrentUser().getName() == null) {
-            return;
-        }
-
-        if (application.getCurrentUser().getAccountType().compareTo("standard") == 0) {
-            return;
-        }
-
-        ArrayList<Genre> genres = getTopOfGenres(application);
-        ArrayList<Movie> allMovies = new ArrayList<Movie>();
-        String bannedCountry = application.getCurrentUser().getCountry();
-
-        for (Movie movie : database.getMovies()) {
-            if (canView(movie, bannedCountry, application.getCurrentUser().getWatchedMovies())) {
-                allMovies.add(movie);
-            }
-        }
-
-        allMovies.sort(new LikesComparator());
-
-        boolean foundMovie = false;
-        String searchedMovie = null;
-        int i, j;
-
-        for (i = 0; i < genres.size() && !foundMovie; i++) {
-            Genre searchedGenre = genres.get(i);
-
-            for (j = 0; j < allMovies.size() && !foundMovie; j++) {
-
-                Movie movie = allMovies.get(j);
-
-                if (movie.getGenres().contains(searchedGenre.getGenre())) {
-                    searchedMovie = movie.getName();
-                    foundMovie = true;
-                }
-            }
-        }
-
-        Notification newNotification = null;
-
-        if (foundMovie) {
-            newNotification = new Notification(searchedMovie, "Recommendation");
-        } else {
-            newNotification = new Notification("No recommendation", "Recommendation");
-        }
-
-        application.getCurrentUser().addNotification(newNotification);
-
-        output.add(showOutput(application));
-    }
-}
+package validators;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import databases.Application;
+import databases.Database;
+import databases.RecommendationSnapshot;
+import entities.Genre;
+import entities.Movie;
+import entities.Notification;
+import entities.User;
+import output.JsonRenderer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+public final class VerifyRecommendations {
+
+    private VerifyRecommendations() {
+    }
+
+    /**
+     * The method checks if a movie from the database can be watched by the given user
+     * (it is not banned in the user's country, and it has not already been watched by the user)
+     * @param id: the identifier of the movie that is being checked
+     * @param visible: the movies that are not banned in the user's country
+     * @param watchedMovies: the identifiers of the user's watched movies
+     * @return boolean: "true" if the movie can be watched, "false" otherwise
+     */
+    private static boolean canView(final int id, final BitSet visible,
+                                            final BitSet watchedMovies) {
+        if (!visible.get(id)) {
+            return false;
+        }
+
+        if (watchedMovies.get(id)) {
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * The method creates the output that is shown if the page action
+     * can take place
+     * @param application: the platform's hierarchy of pages that holds
+     * the required information
+     * @return result: the ObjectNode that will further be added to the
+     * JSON ArrayNode that holds the output for the whole application
+     */
+    public static ObjectNode showOutput(final Application application) {
+        return JsonRenderer.showResult(null, application.getCurrentUser());
+    }
+
+    /**
+     * The method creates a new notification for the last logged-in "premium" user
+     * @param application: the platform that holds the needed information
+     * @param database: the database that is accessed
+     * @param output: the array of JSON nodes that represents the collection of outputs
+     */
+    public static void getRecommendation(final Application application, final Database database,
+                                                                        final ArrayNode output) {
+
+        if (application.getCurrentUser().getName() == null) {
+            return;
+        }
+
+        if (application.getCurrentUser().getAccountType().compareTo("standard") == 0) {
+            return;
+        }
+
+        application.getCurrentUser().addNotification(
+                findRecommendation(database, application.getCurrentUser()));
+
+        output.add(showOutput(application));
+    }
+
+    /**
+     * The method searches for the movie that is recommended to a user, reading
+     * the database directly (the caller must hold one of the database's locks and
+     * the user's lock)
+     * @param database: the database that holds the movies
+     * @param user: the user the recommendation is given to
+     * @return notification: the notification that holds the recommendation
+     * (the user's notifications are not changed)
+     */
+    public static Notification findRecommendation(final Database database, final User user) {
+        ArrayList<String> genres = new ArrayList<String>(user.getTopGenres().size());
+
+        for (Genre genre : user.getTopGenres()) {
+            genres.add(genre.getGenre());
+        }
+
+        return createNotification(findRecommendation(genres,
+                database.getVisibleMovies(user.getCountry()), user.getWatchedMovies().getIds(),
+                database::getMoviesRankedByLikes));
+    }
+
+    /**
+     * The method searches for the movie that is recommended to a user
+     * @param genres: the user's top of preferred genres
+     * @param visible: the movies that are not banned in the user's country
+     * @param watchedMovies: the identifiers of the user's watched movies
+     * @param rankings: the function that returns the movies of a genre, ordered by likes
+     * @return movie: the title of the recommended movie or null, if there is none
+     */
+    private static String findRecommendation(final List<String> genres, final BitSet visible,
+                                             final BitSet watchedMovies,
+                                             final Function<String, ? extends Iterable<Movie>>
+                                                     rankings) {
+        // the genres are walked from the most liked one, and within each genre the
+        // movies are walked from the most liked one, until a movie that can be
+        // watched by the user is found
+        for (String genre : genres) {
+            for (Movie movie : rankings.apply(genre)) {
+                if (canView(movie.getId(), visible, watchedMovies)) {
+                    return movie.getName();
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * The method searches for the movie that is recommended to one of the users
+     * of a snapshot, without reading the database (nor its movies)
+     * @param snapshot: the snapshot taken for the user
+     * @param index: the position of the user within the snapshot
+     * @return movie: the title of the recommended movie or null, if there is none
+     */
+    private static String findRecommendation(final RecommendationSnapshot snapshot,
+                                             final int index) {
+        // the same walk as above, over the copied rankings
+        for (String genre : snapshot.getGenres(index)) {
+            RecommendationSnapshot.Ranking ranking = snapshot.getRanking(genre);
+            int i;
+            for (i = 0; i < ranking.ids().length; i++) {
+                if (canView(ranking.ids()[i], snapshot.getVisible(index),
+                        snapshot.getWatched(index))) {
+                    return ranking.names()[i];
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * The method creates the notification that holds a recommendation
+     * @param searchedMovie: the title of the recommended movie or null, if there is none
+     * @return notification: the requested notification
+     */
+    private static Notification createNotification(final String searchedMovie) {
+        if (searchedMovie != null) {
+            return new Notification(searchedMovie, "Recommendation");
+        }
+
+        return new Notification("No recommendation", "Recommendation");
+    }
+
+    /**
+     * The method computes the recommendations of all the "premium" users of the database;
+     * the users are split between the threads of the given pool and all of them read
+     * the same snapshot of the database, taken under the database's read lock before
+     * the computation starts (the users' notifications are not changed)
+     * @param database: the database that holds the users and the movies
+     * @param pool: the pool the recommendations are computed on
+     * @return recommendations: the notification computed for every "premium" user,
+     * in the order the users were registered in
+     */
+    public static LinkedHashMap<User, Notification> getRecommendations(final Database database,
+                                                                      final ForkJoinPool pool) {
+        ArrayList<User> premiumUsers = new ArrayList<User>();
+        RecommendationSnapshot snapshot;
+        Lock lock = database.getLock().readLock();
+
+        // the snapshot is the only part that reads the database, so the lock is
+        // released before the recommendations are computed
+        lock.lock();
+        try {
+            for (User user : database.getUsers()) {
+                // a user may buy a "premium" account meanwhile, in another session
+                user.getLock().lock();
+                try {
+                    if (user.getAccountType().compareTo("premium") == 0) {
+                        premiumUsers.add(user);
+                    }
+                } finally {
+                    user.getLock().unlock();
+                }
+            }
+
+            snapshot = new RecommendationSnapshot(database, premiumUsers);
+        } finally {
+            lock.unlock();
+        }
+
+        String[] searchedMovies = new String[snapshot.size()];
+
+        pool.submit(() -> IntStream.range(0, snapshot.size()).parallel().forEach(i ->
+                searchedMovies[i] = findRecommendation(snapshot, i))).join();
+
+        LinkedHashMap<User, Notification> recommendations =
+                new LinkedHashMap<User, Notification>();
+
+        for (int i = 0; i < snapshot.size(); i++) {
+            recommendations.put(snapshot.getUser(i), createNotification(searchedMovies[i]));
+        }
+
+        return recommendations;
+    }
+}